@@ -0,0 +1,60 @@
+package com.github.donttouchit.tools;
+
+import com.github.donttouchit.game.Level;
+import com.github.donttouchit.game.LevelFormat;
+import com.github.donttouchit.utils.FileUtils;
+import com.github.donttouchit.utils.LevelPack;
+
+import java.io.File;
+import java.io.FilenameFilter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+/**
+ * Builds a level pack from every .lvl file of a directory, in the order of the file names.
+ * Levels saved as JSON are converted to the binary format, and a level which can not be built stops the tool.
+ *
+ * Usage: LevelPackBuilder directory pack
+ */
+public class LevelPackBuilder {
+	public static void main(String[] args) throws IOException {
+		if (args.length != 2) {
+			System.err.println("Usage: LevelPackBuilder directory pack");
+			System.exit(2);
+		}
+
+		File[] files = new File(args[0]).listFiles(new FilenameFilter() {
+			@Override
+			public boolean accept(File dir, String name) {
+				return name.endsWith(".lvl");
+			}
+		});
+		if (files == null) {
+			System.err.println(args[0] + " is not a directory");
+			System.exit(2);
+		}
+		Arrays.sort(files);
+
+		LevelPack.Writer writer = new LevelPack.Writer();
+		long levelsSize = 0;
+		for (File file : files) {
+			byte[] bytes = Files.readAllBytes(file.toPath());
+			Level level;
+			try {
+				level = new Level(FileUtils.parseLevel(bytes));
+			} catch (Exception e) {
+				System.err.println(file.getName() + ": " + e);
+				System.exit(1);
+				return;
+			}
+			byte[] encoded = LevelFormat.encode(level.getSpecification());
+			writer.add(file.getName(), encoded, level.getColumns(), level.getRows());
+			levelsSize += bytes.length;
+		}
+
+		File pack = new File(args[1]);
+		writer.write(pack);
+		System.err.println(files.length + " levels, " + levelsSize + " bytes packed into " + pack.length() + " bytes");
+	}
+}
@@ -0,0 +1,313 @@
+package com.github.donttouchit.tools;
+
+import com.badlogic.gdx.utils.JsonWriter;
+import com.github.donttouchit.game.Level;
+import com.github.donttouchit.game.LevelObject;
+import com.github.donttouchit.geom.LevelChecker;
+import com.github.donttouchit.geom.LevelSolver;
+import com.github.donttouchit.utils.FileUtils;
+import com.github.donttouchit.utils.LevelPack;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.FilenameFilter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Validates every level of a pack, or every .lvl file and pack of a directory, in parallel: the level must parse
+ * into a consistent level, and it must be solvable within the time budget. Writes a JSON report with the timings of every step.
+ *
+ * Usage: LevelValidator directory|pack [-time milliseconds] [-threads count] [-report file]
+ */
+public class LevelValidator {
+	private static final Charset UTF8 = Charset.forName("UTF-8");
+
+	public enum Status {
+		SOLVABLE, UNSOLVABLE, TIMEOUT, INVALID
+	}
+
+	public static class Result {
+		private final String file;
+		private Status status;
+		private String error;
+		private int columns, rows, levelObjects;
+		private boolean exitOpen;
+		private int moves = -1;
+		private int exploredStates;
+		private long loadMillis, checkMillis, solveMillis;
+
+		public Result(String file) {
+			this.file = file;
+		}
+
+		public String getFile() {
+			return file;
+		}
+
+		public Status getStatus() {
+			return status;
+		}
+
+		public String getError() {
+			return error;
+		}
+
+		private void write(JsonWriter writer) throws IOException {
+			writer.object();
+			writer.set("file", file);
+			writer.set("status", status.name());
+			if (error != null) {
+				writer.set("error", error);
+			}
+			if (status != Status.INVALID) {
+				writer.set("columns", columns);
+				writer.set("rows", rows);
+				writer.set("levelObjects", levelObjects);
+				writer.set("exitOpen", exitOpen);
+				writer.set("moves", moves);
+				writer.set("exploredStates", exploredStates);
+			}
+			writer.set("loadMillis", loadMillis);
+			writer.set("checkMillis", checkMillis);
+			writer.set("solveMillis", solveMillis);
+			writer.pop();
+		}
+	}
+
+	private interface Source {
+		byte[] read() throws IOException;
+	}
+
+	private final long timeLimitMillis;
+
+	public LevelValidator(long timeLimitMillis) {
+		this.timeLimitMillis = timeLimitMillis;
+	}
+
+	public Result validate(final File file) {
+		return validate(file.getName(), new Source() {
+			@Override
+			public byte[] read() throws IOException {
+				return Files.readAllBytes(file.toPath());
+			}
+		});
+	}
+
+	/**
+	 * Validates a level of the pack, it is reported as {@code pack#level}.
+	 */
+	public Result validate(final LevelPack pack, final LevelPack.Entry entry) {
+		return validate(pack.getFile().getName() + "#" + entry.getName(), new Source() {
+			@Override
+			public byte[] read() throws IOException {
+				return pack.readBytes(entry);
+			}
+		});
+	}
+
+	private Result validate(String name, Source source) {
+		Result result = new Result(name);
+
+		long start = System.nanoTime();
+		Level level;
+		try {
+			level = new Level(FileUtils.parseLevel(source.read()));
+		} catch (Exception e) {
+			// Missing fields and broken object specifications fail deep in the level constructor.
+			result.status = Status.INVALID;
+			result.error = e.toString();
+			result.loadMillis = millisSince(start);
+			return result;
+		}
+		result.loadMillis = millisSince(start);
+
+		start = System.nanoTime();
+		result.columns = level.getColumns();
+		result.rows = level.getRows();
+		result.levelObjects = level.getLevelObjects().size();
+		result.error = checkStructure(level);
+		if (result.error != null) {
+			result.status = Status.INVALID;
+			result.checkMillis = millisSince(start);
+			return result;
+		}
+		result.exitOpen = new LevelChecker().checkExitWay(level);
+		result.checkMillis = millisSince(start);
+
+		start = System.nanoTime();
+		LevelSolver.Solution solution = new LevelSolver(level).solve(timeLimitMillis);
+		result.solveMillis = millisSince(start);
+		result.exploredStates = solution.getExploredStates();
+		if (solution.isSolved()) {
+			result.status = Status.SOLVABLE;
+			result.moves = solution.getMoves().size();
+		} else {
+			result.status = solution.isComplete() ? Status.UNSOLVABLE : Status.TIMEOUT;
+		}
+		return result;
+	}
+
+	private static String checkStructure(Level level) {
+		if (!level.isOnBoard(level.getEnterPoint().x, level.getEnterPoint().y)) {
+			return "The enter point is out of the board";
+		}
+		if (!level.isOnBoard(level.getExitPoint().x, level.getExitPoint().y)) {
+			return "The exit point is out of the board";
+		}
+		for (LevelObject levelObject : level.getLevelObjects()) {
+			// The enter and exit cells are walls too, so nothing can stand on them either.
+			if (!level.isPassable(levelObject.getColumn(), levelObject.getRow())) {
+				return levelObject.getClass().getSimpleName() + " stands on a wall at "
+						+ levelObject.getColumn() + " " + levelObject.getRow();
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Validates the .lvl files and the levels of the packs in parallel, the results go in the same order.
+	 */
+	public List<Result> validate(File[] files, List<LevelPack> packs, int threads) throws InterruptedException {
+		List<Callable<Result>> tasks = new ArrayList<Callable<Result>>();
+		for (final File file : files) {
+			tasks.add(new Callable<Result>() {
+				@Override
+				public Result call() {
+					return validate(file);
+				}
+			});
+		}
+		for (final LevelPack pack : packs) {
+			for (final LevelPack.Entry entry : pack.getEntries()) {
+				tasks.add(new Callable<Result>() {
+					@Override
+					public Result call() {
+						return validate(pack, entry);
+					}
+				});
+			}
+		}
+
+		ForkJoinPool pool = new ForkJoinPool(threads);
+		try {
+			List<Result> results = new ArrayList<Result>();
+			for (Future<Result> future : pool.invokeAll(tasks)) {
+				try {
+					results.add(future.get());
+				} catch (ExecutionException e) {
+					throw new IllegalStateException(e.getCause());
+				}
+			}
+			return results;
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	public static void writeReport(List<Result> results, long totalMillis, Writer output) throws IOException {
+		JsonWriter writer = new JsonWriter(output);
+		writer.setOutputType(JsonWriter.OutputType.json);
+		writer.object();
+		writer.set("totalMillis", totalMillis);
+		writer.array("levels");
+		for (Result result : results) {
+			result.write(writer);
+		}
+		writer.pop();
+		writer.pop();
+		writer.flush();
+	}
+
+	private static File[] listFiles(String directory, final String extension) {
+		File[] files = new File(directory).listFiles(new FilenameFilter() {
+			@Override
+			public boolean accept(File dir, String name) {
+				return name.endsWith(extension);
+			}
+		});
+		if (files == null) {
+			System.err.println(directory + " is not a directory");
+			System.exit(2);
+		}
+		Arrays.sort(files);
+		return files;
+	}
+
+	private static long millisSince(long startNanos) {
+		return (System.nanoTime() - startNanos) / 1000000;
+	}
+
+	public static void main(String[] args) throws IOException, InterruptedException {
+		String path = null, report = null;
+		long timeLimitMillis = 5000;
+		int threads = Runtime.getRuntime().availableProcessors();
+		for (int index = 0; index < args.length; ++index) {
+			if (args[index].equals("-time") && index + 1 < args.length) {
+				timeLimitMillis = Long.parseLong(args[++index]);
+			} else if (args[index].equals("-threads") && index + 1 < args.length) {
+				threads = Integer.parseInt(args[++index]);
+			} else if (args[index].equals("-report") && index + 1 < args.length) {
+				report = args[++index];
+			} else {
+				path = args[index];
+			}
+		}
+		if (path == null) {
+			System.err.println("Usage: LevelValidator directory|pack [-time milliseconds] [-threads count] [-report file]");
+			System.exit(2);
+		}
+
+		File[] files;
+		File[] packFiles;
+		if (new File(path).isFile()) {
+			files = new File[0];
+			packFiles = new File[] {new File(path)};
+		} else {
+			files = listFiles(path, ".lvl");
+			packFiles = listFiles(path, LevelPack.EXTENSION);
+		}
+		List<LevelPack> packs = new ArrayList<LevelPack>();
+		for (File packFile : packFiles) {
+			try {
+				packs.add(LevelPack.open(packFile));
+			} catch (IOException e) {
+				System.err.println(packFile + ": " + e.getMessage());
+				System.exit(2);
+			}
+		}
+
+		long start = System.nanoTime();
+		List<Result> results = new LevelValidator(timeLimitMillis).validate(files, packs, threads);
+		long totalMillis = millisSince(start);
+
+		Writer output = new OutputStreamWriter(report == null ? System.out : new FileOutputStream(report), UTF8);
+		writeReport(results, totalMillis, output);
+		output.write('\n');
+		if (report == null) {
+			output.flush();
+		} else {
+			output.close();
+		}
+
+		int failed = 0;
+		for (Result result : results) {
+			if (result.getStatus() != Status.SOLVABLE) {
+				++failed;
+				System.err.println(result.getFile() + ": " + result.getStatus() + (result.getError() == null ? "" : " " + result.getError()));
+			}
+		}
+		System.err.println(results.size() + " levels, " + failed + " failed, " + totalMillis + " ms");
+		System.exit(failed == 0 ? 0 : 1);
+	}
+}
@@ -3,14 +3,17 @@ package com.github.donttouchit;
 import com.badlogic.gdx.Game;
 import com.github.donttouchit.game.*;
 import com.github.donttouchit.game.properties.Dye;
+import com.github.donttouchit.game.view.Board;
 import com.github.donttouchit.geom.Direction;
 import com.github.donttouchit.geom.GridPoint;
 import com.github.donttouchit.screen.ChooseLevelScreen;
 import com.github.donttouchit.screen.GameScreen;
 import com.github.donttouchit.screen.MenuScreen;
+import com.github.donttouchit.screen.PerformanceHud;
 import com.github.donttouchit.screen.editor.EditorCreateScreen;
 import com.github.donttouchit.screen.editor.EditorMenuScreen;
 import com.github.donttouchit.screen.editor.EditorScreen;
+import com.github.donttouchit.utils.Assets;
 
 public class DontTouchIt extends Game {
 	private MenuScreen menuScreen;
@@ -42,6 +45,7 @@ public class DontTouchIt extends Game {
 
 	@Override
 	public void create() {
+		Assets.load();
 		createDefaultLevel();
 		menuScreen = new MenuScreen(this);
 		chooseLevelScreen = new ChooseLevelScreen(this);
@@ -53,6 +57,14 @@ public class DontTouchIt extends Game {
 		setScreen(menuScreen);
 	}
 
+	@Override
+	public void dispose() {
+		super.dispose();
+		PerformanceHud.dispose();
+		Board.disposeAll();
+		Assets.dispose();
+	}
+
 	public MenuScreen getMenuScreen() {
 		return menuScreen;
 	}
@@ -1,8 +1,9 @@
 package com.github.donttouchit.game;
 
-import com.github.donttouchit.geom.GridPoint;
-
+/**
+ * Receives balls crossing the cell the listener is registered on in the level.
+ */
 public interface ActionListener {
-	void ballEntered(Ball ball, GridPoint cell);
-	void ballLeft(Ball ball, GridPoint cell);
+	void ballEntered(Ball ball, int column, int row);
+	void ballLeft(Ball ball, int column, int row);
 }
@@ -1,20 +1,11 @@
 package com.github.donttouchit.game;
 
-import com.badlogic.gdx.Gdx;
-import com.badlogic.gdx.graphics.g2d.SpriteBatch;
-import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
-import com.badlogic.gdx.math.Vector2;
-import com.badlogic.gdx.scenes.scene2d.InputEvent;
-import com.badlogic.gdx.scenes.scene2d.utils.ActorGestureListener;
 import com.github.donttouchit.game.properties.Dye;
 import com.github.donttouchit.geom.Direction;
-import com.github.donttouchit.geom.GridPoint;
 
 public abstract class Ball extends LevelObject {
-	protected ShapeRenderer shapeRenderer = new ShapeRenderer();
-	protected float R = 30;
-
 	private float dx = 0, dy = 0;
+	private float previousX, previousY;
 	private float speedInCells = 3.0f;
 	private Direction moveDirection = Direction.NONE;
 
@@ -37,25 +28,8 @@ public abstract class Ball extends LevelObject {
 
 	public Ball(Dye dye, int column, int row) {
 		super(column, row, dye);
-
-		addListener(new ActorGestureListener() {
-			@Override
-			public void tap(InputEvent event, float x, float y, int count, int button) {
-				System.err.println("Tapped!");
-			}
-
-			@Override
-			public void fling(InputEvent event, float velocityX, float velocityY, int button) {
-				System.err.println("Flinged! " + velocityX + " " + velocityY);
-				Direction direction;
-				if (Math.abs(velocityX) > Math.abs(velocityY)) {
-					direction = velocityX > 0 ? Direction.RIGHT : Direction.LEFT;
-				} else {
-					direction = velocityY > 0 ? Direction.TOP : Direction.BOTTOM;
-				}
-				move(direction);
-			}
-		});
+		previousX = column;
+		previousY = row;
 	}
 
 	public Ball(Specification specification) {
@@ -65,16 +39,16 @@ public abstract class Ball extends LevelObject {
 	@Override
 	public void act(float delta) {
 		super.act(delta);
+		previousX = getColumn() + dx;
+		previousY = getRow() + dy;
 
 		if (moveDirection != Direction.NONE) {
-			Vector2 dir = moveDirection.getVector2();
-			dir.scl(speedInCells * delta);
-
-			dx += dir.x;
-			dy += dir.y;
+			float distance = speedInCells * delta;
+			dx += moveDirection.getDeltaX() * distance;
+			dy += moveDirection.getDeltaY() * distance;
 
-			if (Math.abs(dx) >= 1 || Math.abs(dy) >= 1) {
-				GridPoint previousCell = new GridPoint(getColumn(), getRow());
+			while (moveDirection != Direction.NONE && (Math.abs(dx) >= 1 || Math.abs(dy) >= 1)) {
+				int previousColumn = getColumn(), previousRow = getRow();
 
 				if (Math.abs(dx) >= 1) {
 					setColumn(getColumn() + (int)Math.signum(dx));
@@ -85,8 +59,8 @@ public abstract class Ball extends LevelObject {
 					dy -= Math.signum(dy);
 				}
 
-				getLevel().ballLeft(this, new GridPoint(previousCell));
-				getLevel().ballEntered(this, new GridPoint(getColumn(), getRow()));
+				getLevel().ballLeft(this, previousColumn, previousRow);
+				getLevel().ballEntered(this, getColumn(), getRow());
 
 				if (!isEmpty(getMoveDirection())) {
 					if (isWall(getMoveDirection())) {
@@ -99,7 +73,21 @@ public abstract class Ball extends LevelObject {
 
 	}
 
-	protected boolean isInHole() {
+	@Override
+	public void setState(int state) {
+		moveDirection = Direction.NONE;
+		dx = 0;
+		dy = 0;
+		previousX = getColumn();
+		previousY = getRow();
+	}
+
+	@Override
+	public boolean isAnimating() {
+		return moveDirection != Direction.NONE;
+	}
+
+	public boolean isInHole() {
 		if (getLevel() == null) {
 			return false;
 		} else {
@@ -110,59 +98,18 @@ public abstract class Ball extends LevelObject {
 		}
 	}
 
-	@Override
-	public void draw(SpriteBatch batch, float parentAlpha) {
-		super.draw(batch, parentAlpha);
-		batch.end();
-
-		shapeRenderer.setProjectionMatrix(batch.getProjectionMatrix());
-		shapeRenderer.setTransformMatrix(batch.getTransformMatrix());
-		shapeRenderer.translate(getX(), getY(), 0);
-
-		Vector2 center = getCenter();
-
-		// Border
-		float innerR = R;
-		shapeRenderer.begin(ShapeRenderer.ShapeType.Filled);
-		if (isInHole()) {
-			shapeRenderer.setColor(1.0f, 0.84f, 0.0f, 1.0f);
-			innerR = R * 4 / 5;
-		} else {
-			shapeRenderer.setColor(0.0f, 0.0f, 0.0f, 1.0f);
-		}
-		shapeRenderer.circle(center.x, center.y, R);
-		shapeRenderer.end();
-
-		// Inner
-		shapeRenderer.begin(ShapeRenderer.ShapeType.Filled);
-		shapeRenderer.setColor(getDye().getColor());
-		shapeRenderer.circle(center.x, center.y, innerR);
-		shapeRenderer.end();
-
-		batch.begin();
-	}
-
 	private boolean isWall(Direction direction) {
 		if (direction == Direction.NONE) {
 			return false;
 		}
-		GridPoint p = direction.getPoint();
-		p.add(getColumn(), getRow());
-		return !getLevel().isPassable(p.x, p.y);
+		return !getLevel().isPassable(getColumn() + direction.getDeltaX(), getRow() + direction.getDeltaY());
 	}
 
 	private boolean isEmpty(Direction direction) {
 		if (direction == Direction.NONE) {
 			return true;
 		}
-		GridPoint p = direction.getPoint();
-		p.add(getColumn(), getRow());
-		return getLevel().isEmpty(p.x, p.y);
-	}
-
-	@Override
-	public Vector2 getCenter() {
-		return new Vector2((dx + 0.5f) * Level.CELL_SIZE, (dy + 0.5f) * Level.CELL_SIZE);
+		return getLevel().isEmpty(getColumn() + direction.getDeltaX(), getRow() + direction.getDeltaY());
 	}
 
 	public float getSpeedInCells() {
@@ -201,7 +148,6 @@ public abstract class Ball extends LevelObject {
 	}
 
 	protected void hitWall() {
-		Gdx.app.log("Ball at " + getColumn() + " " + getRow(), " hits the wall");
 	}
 
 	public float getDx() {
@@ -212,11 +158,11 @@ public abstract class Ball extends LevelObject {
 		return dy;
 	}
 
-	public float getR() {
-		return R;
+	public float getInterpolatedX(float alpha) {
+		return previousX + (getColumn() + dx - previousX) * alpha;
 	}
 
-	public void setR(float r) {
-		R = r;
+	public float getInterpolatedY(float alpha) {
+		return previousY + (getRow() + dy - previousY) * alpha;
 	}
 }
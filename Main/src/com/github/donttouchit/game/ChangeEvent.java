@@ -0,0 +1,7 @@
+package com.github.donttouchit.game;
+
+public enum ChangeEvent {
+	TURN,
+	OPEN_WALL,
+	CLOSE_WALL
+}
@@ -1,8 +1,10 @@
 package com.github.donttouchit.game;
 
-import com.github.donttouchit.game.properties.Dye;
-
+/**
+ * Receives change events sent to a dye. Level objects are subscribed with their own dye
+ * for every event they accept.
+ */
 public interface ChangeListener {
-	boolean accept(Dye dye, Object object);
-	void changed(Object object);
+	boolean accept(ChangeEvent event);
+	void changed(ChangeEvent event);
 }
@@ -1,19 +1,12 @@
 package com.github.donttouchit.game;
 
 import com.github.donttouchit.game.properties.Dye;
-import com.github.donttouchit.screen.editor.Brush;
 
 public class HeavyBall extends Ball {
 
 	public static class Specification extends Ball.Specification {
 	}
 
-	static {
-		Specification specification = new Specification();
-		specification.dye = Dye.GREEN;
-		Brush.registerBrush(specification);
-	}
-
 	@Override
 	public Specification getSpecification() {
 		Specification specification = new Specification();
@@ -1,28 +1,14 @@
 package com.github.donttouchit.game;
 
-import com.badlogic.gdx.graphics.g2d.SpriteBatch;
-import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
-import com.badlogic.gdx.math.Vector2;
 import com.github.donttouchit.game.properties.Dye;
-import com.github.donttouchit.screen.editor.Brush;
 
 public class ImaginaryWall extends LevelObject implements ChangeListener {
-	private static final float WALL_SIZE = 10;
-	private static final float WALL_PADDING = 4;
-
-	private ShapeRenderer shapeRenderer = new ShapeRenderer();
 	private boolean opened = false;
 	private boolean goingToClose = false;
 
 	public static class Specification extends LevelObject.Specification {
 	}
 
-	static {
-		Specification specification = new Specification();
-		specification.dye = Dye.GREEN;
-		Brush.registerBrush(specification);
-	}
-
 	@Override
 	public Specification getSpecification() {
 		Specification specification = new Specification();
@@ -51,52 +37,47 @@ public class ImaginaryWall extends LevelObject implements ChangeListener {
 		if (goingToClose && getLevel().isEmpty(getColumn(), getRow())) {
 			goingToClose = false;
 			opened = false;
+			getLevel().levelObjectChanged(this);
 		}
 	}
 
 	@Override
-	public boolean accept(Dye dye, Object object) {
-		return getDye() == dye && object instanceof String;
+	public boolean accept(ChangeEvent event) {
+		return event == ChangeEvent.OPEN_WALL || event == ChangeEvent.CLOSE_WALL;
 	}
 
 	@Override
-	public void changed(Object object) {
-		String message = (String)object;
-		if (message.equals("open wall")) {
+	public void changed(ChangeEvent event) {
+		if (event == ChangeEvent.OPEN_WALL) {
 			opened = true;
 			goingToClose = false;
-		} else if (message.equals("close wall")) {
+			getLevel().levelObjectChanged(this);
+		} else if (event == ChangeEvent.CLOSE_WALL) {
 			goingToClose = true;
 		}
 	}
 
 	@Override
-	public void draw(SpriteBatch batch, float parentAlpha) {
-		super.draw(batch, parentAlpha);
-		batch.end();
-
-		shapeRenderer.setProjectionMatrix(batch.getProjectionMatrix());
-		shapeRenderer.setTransformMatrix(batch.getTransformMatrix());
-		shapeRenderer.translate(getX(), getY(), 0);
-
-		Vector2 center = getCenter();
-
-		shapeRenderer.begin(ShapeRenderer.ShapeType.Filled);
-		shapeRenderer.setColor(getDye().getColor());
-
-		if (!opened) {
-			shapeRenderer.rect(0, WALL_PADDING, Level.CELL_SIZE, WALL_SIZE);
-			shapeRenderer.rect(0, center.y - WALL_SIZE / 2, Level.CELL_SIZE, WALL_SIZE);
-			shapeRenderer.rect(0, Level.CELL_SIZE - WALL_SIZE - WALL_PADDING, Level.CELL_SIZE, WALL_SIZE);
+	public int getState() {
+		return (opened ? 1 : 0) | (goingToClose ? 2 : 0);
+	}
 
-			shapeRenderer.rect(WALL_PADDING, 0, WALL_SIZE, Level.CELL_SIZE);
-			shapeRenderer.rect(center.x - WALL_SIZE / 2, 0, WALL_SIZE, Level.CELL_SIZE);
-			shapeRenderer.rect(Level.CELL_SIZE - WALL_SIZE - WALL_PADDING, 0, WALL_SIZE, Level.CELL_SIZE);
+	@Override
+	public void setState(int state) {
+		opened = (state & 1) != 0;
+		goingToClose = (state & 2) != 0;
+		if (getLevel() != null) {
+			getLevel().levelObjectChanged(this);
 		}
+	}
 
-		shapeRenderer.end();
+	@Override
+	public boolean isAnimating() {
+		return goingToClose && getLevel().isEmpty(getColumn(), getRow());
+	}
 
-		batch.begin();
+	public boolean isOpened() {
+		return opened;
 	}
 
 	@Override
@@ -1,31 +1,55 @@
 package com.github.donttouchit.game;
 
-import com.badlogic.gdx.Gdx;
-import com.badlogic.gdx.scenes.scene2d.Group;
 import com.github.donttouchit.game.properties.Dye;
+import com.github.donttouchit.geom.BitBoard;
 import com.github.donttouchit.geom.GridPoint;
+import com.github.donttouchit.geom.LevelChecker;
 
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
 
 public final class Level implements ActionListener {
 	private final List<LevelObject> levelObjects = new ArrayList<LevelObject>();
-	private final Group group = new Group();
-	private final boolean[][] passable;
+	private final List<LevelObject>[][] cellObjects;
+	private final List<ActionListener>[][] cellActionListeners;
+	private final List<ChangeListener>[][] changeListeners = createChangeListeners();
+	private final List<LevelListener> levelListeners = new ArrayList<LevelListener>();
+	private final BitBoard walls;
+	private final BitBoard blockers;
 	private final int columns, rows;
 	private boolean inAction = false;
+	private LevelHistory history;
 	private final GridPoint enterPoint;
 	private final GridPoint exitPoint;
 	public static final float CELL_SIZE = 64;
+	public static final float STEP = 1 / 120f;
+	private static final float MAX_FRAME_TIME = 1;
+
+	private float accumulator = 0;
+	private float timeScale = 1;
+	private long stepCount = 0;
+	private long dispatchCount = 0;
+
+	private static final int ASYNC_EXIT_CHECK_CELLS = 64 * 64;
+	private static ExecutorService exitWayExecutor;
+	private final LevelChecker exitWayChecker = new LevelChecker();
+	private boolean exitWayChanged = true;
+	private volatile boolean exitWay = false;
+	private volatile boolean exitWayChecking = false;
+	private BitBoard exitWayWalls;
+	private BitBoard exitWayBlockers;
 
 	public static class Specification {
-		private ArrayList<LevelObject.Specification> levelObjectsSpecifications = new ArrayList<LevelObject.Specification>();
-		private boolean[][] passable;
-		private int columns, rows;
-		private GridPoint enterPoint;
-		private GridPoint exitPoint;
+		// Package-private for LevelFormat.
+		ArrayList<LevelObject.Specification> levelObjectsSpecifications = new ArrayList<LevelObject.Specification>();
+		boolean[][] passable;
+		int columns, rows;
+		GridPoint enterPoint;
+		GridPoint exitPoint;
 	}
 
 	public Specification getSpecification() {
@@ -40,8 +64,10 @@ public final class Level implements ActionListener {
 		specification.enterPoint = enterPoint;
 		specification.exitPoint = exitPoint;
 		specification.passable = new boolean[columns][rows];
-		for (int index = 0; index < columns; ++index) {
-			System.arraycopy(passable[index], 0, specification.passable[index], 0, rows);
+		for (int column = 0; column < columns; ++column) {
+			for (int row = 0; row < rows; ++row) {
+				specification.passable[column][row] = !walls.get(column, row);
+			}
 		}
 
 		return specification;
@@ -52,38 +78,31 @@ public final class Level implements ActionListener {
 		this.rows = rows;
 		this.enterPoint = enterPoint;
 		this.exitPoint = exitPoint;
-		group.setWidth(getColumns() * CELL_SIZE);
-		group.setHeight(getRows() * CELL_SIZE);
-//		group.setOrigin(group.getWidth() / 2, group.getHeight() / 2);
 
 		if (enterPoint.equals(exitPoint)) {
 			throw new IllegalArgumentException("The enter point can not be equal to the exit one");
 		}
 
-		float w = Gdx.graphics.getWidth() - 2 * CELL_SIZE;
-		float h = Gdx.graphics.getHeight() - CELL_SIZE;
-		setBounds(CELL_SIZE, CELL_SIZE / 2, w, h);
-
-		passable = new boolean[columns][rows];
-		for (boolean[] array : passable) {
-			Arrays.fill(array, true);
-		}
+		walls = new BitBoard(columns, rows);
+		blockers = new BitBoard(columns, rows);
+		cellObjects = createCellObjects(columns, rows);
+		cellActionListeners = createCellActionListeners(columns, rows);
 
 		setPassable(enterPoint.x, enterPoint.y, false);
 		setPassable(exitPoint.x, exitPoint.y, false);
-		Board board = new Board(this);
-		group.addActor(board);
 	}
 
 	public Level(Specification specification) {
 		this(specification.columns, specification.rows, specification.enterPoint, specification.exitPoint);
-		for (int index = 0; index < columns; ++index) {
-			System.arraycopy(specification.passable[index], 0, passable[index], 0, rows);
+		for (int column = 0; column < columns; ++column) {
+			for (int row = 0; row < rows; ++row) {
+				walls.set(column, row, !specification.passable[column][row]);
+			}
 		}
 
 		List<LevelObject> levelObjectList = new ArrayList<LevelObject>();
 		for (LevelObject.Specification objectSpecification : specification.levelObjectsSpecifications) {
-			levelObjectList.add(objectSpecification.createLevelObject());
+			levelObjectList.add(LevelObjectRegistry.create(objectSpecification));
 		}
 
 		Collections.sort(levelObjectList);
@@ -97,17 +116,274 @@ public final class Level implements ActionListener {
 		if (levelObject == null) {
 			return;
 		}
-		group.addActor(levelObject);
 		levelObjects.add(levelObject);
 		levelObject.setLevel(this);
+		addToCell(levelObject, levelObject.getColumn(), levelObject.getRow());
+		subscribe(levelObject, levelObject.getDye());
+		for (int index = 0; index < levelListeners.size(); ++index) {
+			levelListeners.get(index).levelObjectAdded(levelObject);
+		}
 	}
 
 	public void removeLevelObject(LevelObject levelObject) {
 		if (levelObject == null) {
 			return;
 		}
-		group.removeActor(levelObject);
-		levelObjects.remove(levelObject);
+		if (levelObjects.remove(levelObject)) {
+			removeFromCell(levelObject, levelObject.getColumn(), levelObject.getRow());
+			unsubscribe(levelObject, levelObject.getDye());
+			levelObject.setLevel(null);
+			for (int index = 0; index < levelListeners.size(); ++index) {
+				levelListeners.get(index).levelObjectRemoved(levelObject);
+			}
+		}
+	}
+
+	public List<LevelObject> getLevelObjects() {
+		return Collections.unmodifiableList(levelObjects);
+	}
+
+	public void addLevelListener(LevelListener levelListener) {
+		levelListeners.add(levelListener);
+	}
+
+	public void removeLevelListener(LevelListener levelListener) {
+		levelListeners.remove(levelListener);
+	}
+
+	public void act(float delta) {
+		accumulator += Math.min(delta, MAX_FRAME_TIME) * timeScale;
+		while (accumulator >= STEP) {
+			step();
+			accumulator -= STEP;
+		}
+	}
+
+	public void step() {
+		step(STEP);
+	}
+
+	public void step(float delta) {
+		++stepCount;
+		for (int index = 0; index < levelObjects.size(); ++index) {
+			levelObjects.get(index).act(delta);
+		}
+	}
+
+	/**
+	 * Packs the position and the state of every object into one int per object, in object order,
+	 * reusing the given array if it fits. Moving balls are saved as if they were stopped in their current cells.
+	 * The array is enough to restart the level or to explore its states without creating any objects.
+	 */
+	public int[] saveState(int[] state) {
+		if (state == null || state.length != levelObjects.size()) {
+			state = new int[levelObjects.size()];
+		}
+		for (int index = 0; index < levelObjects.size(); ++index) {
+			LevelObject levelObject = levelObjects.get(index);
+			state[index] = (levelObject.getColumn() << 20) | (levelObject.getRow() << 8) | levelObject.getState();
+		}
+		return state;
+	}
+
+	/**
+	 * Puts every object back to the state saved by {@link #saveState(int[])} and stops the current action.
+	 */
+	public void restoreState(int[] state) {
+		if (state.length != levelObjects.size()) {
+			throw new IllegalArgumentException("State is saved for another set of objects");
+		}
+		inAction = false;
+		accumulator = 0;
+		for (int index = 0; index < levelObjects.size(); ++index) {
+			restoreState(index, state[index]);
+		}
+	}
+
+	/**
+	 * Puts one object back to its packed state. Unlike {@link #restoreState(int[])} it does not stop the current action.
+	 */
+	public void restoreState(int index, int state) {
+		LevelObject levelObject = levelObjects.get(index);
+		int column = state >>> 20, row = (state >>> 8) & 0xFFF;
+		if (column != levelObject.getColumn() || row != levelObject.getRow()) {
+			levelObject.setBoardPosition(column, row);
+		}
+		levelObject.setState(state & 0xFF);
+	}
+
+	/**
+	 * Returns the number of steps made since the level was created.
+	 */
+	public long getStepCount() {
+		return stepCount;
+	}
+
+	/**
+	 * Returns the number of ball and change listener calls made since the level was created.
+	 */
+	public long getDispatchCount() {
+		return dispatchCount;
+	}
+
+	public float getInterpolationAlpha() {
+		return accumulator / STEP;
+	}
+
+	public float getTimeScale() {
+		return timeScale;
+	}
+
+	public void setTimeScale(float timeScale) {
+		this.timeScale = timeScale;
+	}
+
+	void levelObjectMoved(LevelObject levelObject, int previousColumn, int previousRow) {
+		removeFromCell(levelObject, previousColumn, previousRow);
+		addToCell(levelObject, levelObject.getColumn(), levelObject.getRow());
+	}
+
+	void levelObjectChanged(LevelObject levelObject) {
+		updateBlocker(levelObject.getColumn(), levelObject.getRow());
+	}
+
+	private void updateBlocker(int column, int row) {
+		List<LevelObject> objects = cellObjects[column][row];
+		boolean blocked = false;
+		if (objects != null) {
+			for (int index = 0; index < objects.size() && !blocked; ++index) {
+				blocked = !objects.get(index).isPassable(column, row);
+			}
+		}
+		if (blockers.get(column, row) != blocked) {
+			blockers.set(column, row, blocked);
+			exitWayChanged = true;
+			for (int index = 0; index < levelListeners.size(); ++index) {
+				levelListeners.get(index).blockedChanged(column, row);
+			}
+		}
+	}
+
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	private static List<LevelObject>[][] createCellObjects(int columns, int rows) {
+		return new List[columns][rows];
+	}
+
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	private static List<ActionListener>[][] createCellActionListeners(int columns, int rows) {
+		return new List[columns][rows];
+	}
+
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	private static List<ChangeListener>[][] createChangeListeners() {
+		List<ChangeListener>[][] listeners = new List[Dye.values().length][ChangeEvent.values().length];
+		for (List<ChangeListener>[] dyeListeners : listeners) {
+			for (int index = 0; index < dyeListeners.length; ++index) {
+				dyeListeners[index] = new ArrayList<ChangeListener>();
+			}
+		}
+		return listeners;
+	}
+
+	public void addChangeListener(ChangeListener changeListener, Dye dye, ChangeEvent event) {
+		changeListeners[dye.ordinal()][event.ordinal()].add(changeListener);
+	}
+
+	public void removeChangeListener(ChangeListener changeListener, Dye dye, ChangeEvent event) {
+		List<ChangeListener> listeners = changeListeners[dye.ordinal()][event.ordinal()];
+		for (int index = 0; index < listeners.size(); ++index) {
+			if (listeners.get(index) == changeListener) {
+				listeners.remove(index);
+				return;
+			}
+		}
+	}
+
+	private void subscribe(LevelObject levelObject, Dye dye) {
+		if (!(levelObject instanceof ChangeListener) || dye == null) {
+			return;
+		}
+		ChangeListener changeListener = (ChangeListener) levelObject;
+		for (ChangeEvent event : ChangeEvent.values()) {
+			if (changeListener.accept(event)) {
+				addChangeListener(changeListener, dye, event);
+			}
+		}
+	}
+
+	private void unsubscribe(LevelObject levelObject, Dye dye) {
+		if (!(levelObject instanceof ChangeListener) || dye == null) {
+			return;
+		}
+		ChangeListener changeListener = (ChangeListener) levelObject;
+		for (ChangeEvent event : ChangeEvent.values()) {
+			if (changeListener.accept(event)) {
+				removeChangeListener(changeListener, dye, event);
+			}
+		}
+	}
+
+	void levelObjectDyeChanged(LevelObject levelObject, Dye previousDye) {
+		unsubscribe(levelObject, previousDye);
+		subscribe(levelObject, levelObject.getDye());
+	}
+
+	public void addActionListener(ActionListener actionListener, int column, int row) {
+		if (!isOnBoard(column, row)) {
+			return;
+		}
+		List<ActionListener> listeners = cellActionListeners[column][row];
+		if (listeners == null) {
+			listeners = new ArrayList<ActionListener>(1);
+			cellActionListeners[column][row] = listeners;
+		}
+		listeners.add(actionListener);
+	}
+
+	public void removeActionListener(ActionListener actionListener, int column, int row) {
+		if (!isOnBoard(column, row) || cellActionListeners[column][row] == null) {
+			return;
+		}
+		List<ActionListener> listeners = cellActionListeners[column][row];
+		for (int index = 0; index < listeners.size(); ++index) {
+			if (listeners.get(index) == actionListener) {
+				listeners.remove(index);
+				return;
+			}
+		}
+	}
+
+	private void addToCell(LevelObject levelObject, int column, int row) {
+		if (!isOnBoard(column, row)) {
+			return;
+		}
+		List<LevelObject> objects = cellObjects[column][row];
+		if (objects == null) {
+			objects = new ArrayList<LevelObject>(2);
+			cellObjects[column][row] = objects;
+		}
+		objects.add(levelObject);
+		updateBlocker(column, row);
+		if (levelObject instanceof ActionListener) {
+			addActionListener((ActionListener) levelObject, column, row);
+		}
+	}
+
+	private void removeFromCell(LevelObject levelObject, int column, int row) {
+		if (!isOnBoard(column, row) || cellObjects[column][row] == null) {
+			return;
+		}
+		List<LevelObject> objects = cellObjects[column][row];
+		for (int index = 0; index < objects.size(); ++index) {
+			if (objects.get(index) == levelObject) {
+				objects.remove(index);
+				updateBlocker(column, row);
+				if (levelObject instanceof ActionListener) {
+					removeActionListener((ActionListener) levelObject, column, row);
+				}
+				return;
+			}
+		}
 	}
 
 	public void removeLevelObject(int column, int row) {
@@ -115,21 +391,39 @@ public final class Level implements ActionListener {
 	}
 
 	@Override
-	public void ballEntered(Ball ball, GridPoint cell) {
-		for (LevelObject levelObject : levelObjects) {
-			if (levelObject instanceof ActionListener) {
-				((ActionListener)levelObject).ballEntered(ball, cell);
-			}
+	public void ballEntered(Ball ball, int column, int row) {
+		if (!isOnBoard(column, row) || cellActionListeners[column][row] == null) {
+			return;
+		}
+		List<ActionListener> listeners = cellActionListeners[column][row];
+		dispatchCount += listeners.size();
+		for (int index = 0; index < listeners.size(); ++index) {
+			listeners.get(index).ballEntered(ball, column, row);
 		}
 	}
 
 	@Override
-	public void ballLeft(Ball ball, GridPoint cell) {
-		for (LevelObject levelObject : levelObjects) {
-			if (levelObject instanceof ActionListener) {
-				((ActionListener)levelObject).ballLeft(ball, cell);
-			}
+	public void ballLeft(Ball ball, int column, int row) {
+		if (!isOnBoard(column, row) || cellActionListeners[column][row] == null) {
+			return;
 		}
+		List<ActionListener> listeners = cellActionListeners[column][row];
+		dispatchCount += listeners.size();
+		for (int index = 0; index < listeners.size(); ++index) {
+			listeners.get(index).ballLeft(ball, column, row);
+		}
+	}
+
+	public boolean isInAction() {
+		return inAction;
+	}
+
+	void setHistory(LevelHistory history) {
+		this.history = history;
+	}
+
+	public LevelHistory getHistory() {
+		return history;
 	}
 
 	public boolean startAction(LevelObject levelObject) {
@@ -146,18 +440,18 @@ public final class Level implements ActionListener {
 		}
 	}
 
-	public void change(Dye dye, Object object) {
-		for (LevelObject levelObject : levelObjects) {
-			if (levelObject instanceof ChangeListener) {
-				ChangeListener changeListener = (ChangeListener)levelObject;
-				if (changeListener.accept(dye, object)) {
-					changeListener.changed(object);
-				}
-			}
+	public void change(Dye dye, ChangeEvent event) {
+		List<ChangeListener> listeners = changeListeners[dye.ordinal()][event.ordinal()];
+		dispatchCount += listeners.size();
+		for (int index = 0; index < listeners.size(); ++index) {
+			listeners.get(index).changed(event);
 		}
 	}
 
 	private void beforeAction(LevelObject levelObject) {
+		if (history != null) {
+			history.record();
+		}
 	}
 
 	private void afterAction(LevelObject levelObject) {
@@ -177,35 +471,107 @@ public final class Level implements ActionListener {
 		if (!isOnBoard(column, row)) {
 			return false;
 		}
-		return passable[column][row];
+		return !walls.get(column, row);
 	}
 
 	public void setPassable(int column, int row, boolean passable) {
 		if (!isOnBoard(column, row)) {
 			throw new IllegalArgumentException("This cell is out of board, so it's always impassable");
 		}
-		this.passable[column][row] = passable;
+		if (walls.get(column, row) == passable) {
+			walls.set(column, row, !passable);
+			exitWayChanged = true;
+			for (int index = 0; index < levelListeners.size(); ++index) {
+				levelListeners.get(index).passableChanged(column, row);
+			}
+		}
 	}
 
 	public boolean isEmpty(int column, int row) {
-		if (!isPassable(column, row)) {
+		if (!isOnBoard(column, row)) {
 			return false;
 		}
+		return !walls.isAnySet(blockers, column, row);
+	}
 
-		for (LevelObject levelObject : levelObjects) {
-			if (!levelObject.isPassable(column, row)) {
-				return false;
+	/**
+	 * Returns true while the level changes without any input: a ball moves, a wall is going to close
+	 * or the exit way is not checked yet.
+	 */
+	public boolean isAnimating() {
+		if (inAction || exitWayChanged || exitWayChecking) {
+			return true;
+		}
+		for (int index = 0; index < levelObjects.size(); ++index) {
+			if (levelObjects.get(index).isAnimating()) {
+				return true;
 			}
 		}
-		return true;
+		return false;
 	}
 
-	public Dye getDye(int column, int row) {
-		for (LevelObject levelObject : levelObjects) {
-			if (levelObject.getBoardPosition().equals(new GridPoint(column, row))) {
-				if (levelObject instanceof Pedestal) {
-					return ((Pedestal) levelObject).getDye();
+	public boolean hasExitWay() {
+		if (exitWayChanged && !exitWayChecking) {
+			exitWayChanged = false;
+			if (columns * rows < ASYNC_EXIT_CHECK_CELLS) {
+				exitWay = exitWayChecker.checkExitWay(this);
+			} else {
+				checkExitWayAsync();
+			}
+		}
+		return exitWay;
+	}
+
+	private void checkExitWayAsync() {
+		if (exitWayWalls == null) {
+			exitWayWalls = new BitBoard(columns, rows);
+			exitWayBlockers = new BitBoard(columns, rows);
+		}
+		exitWayWalls.set(walls);
+		exitWayBlockers.set(blockers);
+		exitWayChecking = true;
+		getExitWayExecutor().execute(new Runnable() {
+			@Override
+			public void run() {
+				try {
+					exitWay = exitWayChecker.checkExitWay(exitWayWalls, exitWayBlockers, enterPoint, exitPoint);
+				} finally {
+					exitWayChecking = false;
+				}
+			}
+		});
+	}
+
+	private static synchronized ExecutorService getExitWayExecutor() {
+		if (exitWayExecutor == null) {
+			exitWayExecutor = Executors.newSingleThreadExecutor(new ThreadFactory() {
+				@Override
+				public Thread newThread(Runnable runnable) {
+					Thread thread = new Thread(runnable, "Exit way checker");
+					thread.setDaemon(true);
+					return thread;
 				}
+			});
+		}
+		return exitWayExecutor;
+	}
+
+	public BitBoard getWalls() {
+		return walls;
+	}
+
+	public BitBoard getBlockers() {
+		return blockers;
+	}
+
+	public Dye getDye(int column, int row) {
+		if (!isOnBoard(column, row) || cellObjects[column][row] == null) {
+			return null;
+		}
+		List<LevelObject> objects = cellObjects[column][row];
+		for (int index = 0; index < objects.size(); ++index) {
+			if (objects.get(index) instanceof Pedestal) {
+				return objects.get(index).getDye();
 			}
 		}
 		return null;
@@ -219,10 +585,6 @@ public final class Level implements ActionListener {
 		return rows;
 	}
 
-	public Group getGroup() {
-		return group;
-	}
-
 	public GridPoint getEnterPoint() {
 		return enterPoint;
 	}
@@ -231,26 +593,10 @@ public final class Level implements ActionListener {
 		return exitPoint;
 	}
 
-	public void setBounds(float x, float y, float w, float h) {
-		if (true) { // if (Gdx.graphics.getWidth() < group.getWidth() || Gdx.graphics.getHeight() < group.getHeight()) {
-			float xAspect = w / getGroup().getWidth();
-			float yAspect = h / getGroup().getHeight();
-			float aspect = Math.min(xAspect, yAspect);
-
-			float dx = (w - (getGroup().getWidth() * aspect)) / 2;
-			float dy = (h - (getGroup().getHeight() * aspect)) / 2;
-			getGroup().setPosition(x + dx, y + dy);
-			getGroup().setScale(aspect);
-		}
-	}
-
 	public LevelObject getLevelObject(int column, int row) {
-		GridPoint p = new GridPoint(column, row);
-		for (LevelObject levelObject : levelObjects) {
-			if (levelObject.getBoardPosition().equals(p)) {
-				return levelObject;
-			}
+		if (!isOnBoard(column, row) || cellObjects[column][row] == null || cellObjects[column][row].isEmpty()) {
+			return null;
 		}
-		return null;
+		return cellObjects[column][row].get(0);
 	}
 }
@@ -0,0 +1,243 @@
+package com.github.donttouchit.game;
+
+import com.github.donttouchit.game.properties.Dye;
+import com.github.donttouchit.geom.GridPoint;
+
+import java.util.Arrays;
+import java.util.zip.CRC32;
+
+/**
+ * Binary level format. After the magic and the version go the size, the enter and exit points,
+ * the passable grid packed one bit per cell in row-major order, the number of objects and the objects themselves:
+ * type id of the {@link LevelObjectRegistry}, column, row, dye and the fields written by {@link LevelObject.Specification#write(Output)}.
+ * Numbers are varints. The last 4 bytes are the CRC32 of everything before them.
+ */
+public class LevelFormat {
+	private static final byte[] MAGIC = {'D', 'T', 'I', 'L'};
+	public static final int VERSION = 1;
+	private static final int CHECKSUM_SIZE = 4;
+
+	public static class Output {
+		private byte[] bytes = new byte[256];
+		private int size = 0;
+
+		private void ensureCapacity(int extra) {
+			if (size + extra > bytes.length) {
+				bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + extra));
+			}
+		}
+
+		public void writeByte(int value) {
+			ensureCapacity(1);
+			bytes[size++] = (byte) value;
+		}
+
+		public void writeVarInt(int value) {
+			ensureCapacity(5);
+			while ((value & ~0x7F) != 0) {
+				bytes[size++] = (byte) ((value & 0x7F) | 0x80);
+				value >>>= 7;
+			}
+			bytes[size++] = (byte) value;
+		}
+
+		public void writeSignedVarInt(int value) {
+			writeVarInt((value << 1) ^ (value >> 31));
+		}
+
+		private byte[] toByteArray() {
+			return Arrays.copyOf(bytes, size);
+		}
+	}
+
+	public static class Input {
+		private final byte[] bytes;
+		private final int end;
+		private int position;
+
+		private Input(byte[] bytes, int position, int end) {
+			this.bytes = bytes;
+			this.position = position;
+			this.end = end;
+		}
+
+		public int readByte() {
+			if (position >= end) {
+				throw new IllegalArgumentException("Unexpected end of the level data");
+			}
+			return bytes[position++] & 0xFF;
+		}
+
+		public int readVarInt() {
+			int value = 0;
+			for (int shift = 0; shift < 35; shift += 7) {
+				int current = readByte();
+				value |= (current & 0x7F) << shift;
+				if ((current & 0x80) == 0) {
+					return value;
+				}
+			}
+			throw new IllegalArgumentException("Malformed varint in the level data");
+		}
+
+		public int readSignedVarInt() {
+			int value = readVarInt();
+			return (value >>> 1) ^ -(value & 1);
+		}
+
+		/**
+		 * Reads an ordinal of an enum with the given number of constants.
+		 */
+		public int readOrdinal(int count) {
+			int ordinal = readVarInt();
+			if (ordinal < 0 || ordinal >= count) {
+				throw new IllegalArgumentException("Ordinal " + ordinal + " is out of range");
+			}
+			return ordinal;
+		}
+	}
+
+	/**
+	 * Returns true if the data starts with the magic of the binary format, otherwise it is expected to be JSON.
+	 */
+	public static boolean isBinary(byte[] bytes) {
+		if (bytes.length < MAGIC.length) {
+			return false;
+		}
+		for (int index = 0; index < MAGIC.length; ++index) {
+			if (bytes[index] != MAGIC[index]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	public static byte[] encode(Level.Specification specification) {
+		Output output = new Output();
+		for (byte b : MAGIC) {
+			output.writeByte(b);
+		}
+		output.writeByte(VERSION);
+
+		int columns = specification.columns, rows = specification.rows;
+		output.writeVarInt(columns);
+		output.writeVarInt(rows);
+		writePoint(output, specification.enterPoint);
+		writePoint(output, specification.exitPoint);
+
+		int current = 0, bit = 0;
+		for (int row = 0; row < rows; ++row) {
+			for (int column = 0; column < columns; ++column) {
+				if (specification.passable[column][row]) {
+					current |= 1 << bit;
+				}
+				if (++bit == 8) {
+					output.writeByte(current);
+					current = bit = 0;
+				}
+			}
+		}
+		if (bit != 0) {
+			output.writeByte(current);
+		}
+
+		output.writeVarInt(specification.levelObjectsSpecifications.size());
+		for (LevelObject.Specification objectSpecification : specification.levelObjectsSpecifications) {
+			output.writeVarInt(LevelObjectRegistry.getFactory(objectSpecification).getTypeId());
+			output.writeVarInt(objectSpecification.column);
+			output.writeVarInt(objectSpecification.row);
+			output.writeVarInt(objectSpecification.dye.ordinal());
+			objectSpecification.write(output);
+		}
+
+		CRC32 crc = new CRC32();
+		crc.update(output.bytes, 0, output.size);
+		int checksum = (int) crc.getValue();
+		for (int shift = 24; shift >= 0; shift -= 8) {
+			output.writeByte(checksum >>> shift);
+		}
+		return output.toByteArray();
+	}
+
+	public static Level.Specification decode(byte[] bytes) {
+		if (!isBinary(bytes)) {
+			throw new IllegalArgumentException("The data is not a binary level");
+		}
+		int end = bytes.length - CHECKSUM_SIZE;
+		if (end <= MAGIC.length) {
+			throw new IllegalArgumentException("The level data is truncated");
+		}
+		CRC32 crc = new CRC32();
+		crc.update(bytes, 0, end);
+		int checksum = 0;
+		for (int index = end; index < bytes.length; ++index) {
+			checksum = (checksum << 8) | (bytes[index] & 0xFF);
+		}
+		if (checksum != (int) crc.getValue()) {
+			throw new IllegalArgumentException("The checksum of the level data does not match");
+		}
+
+		Input input = new Input(bytes, MAGIC.length, end);
+		int version = input.readByte();
+		if (version != VERSION) {
+			throw new IllegalArgumentException("Unsupported level format version " + version);
+		}
+
+		Level.Specification specification = new Level.Specification();
+		int columns = specification.columns = input.readVarInt();
+		int rows = specification.rows = input.readVarInt();
+		if (columns <= 0 || rows <= 0) {
+			throw new IllegalArgumentException("Invalid level size " + columns + "x" + rows);
+		}
+		specification.enterPoint = readPoint(input, columns, rows);
+		specification.exitPoint = readPoint(input, columns, rows);
+
+		if ((long) columns * rows > 8L * (input.end - input.position)) {
+			throw new IllegalArgumentException("The level size " + columns + "x" + rows + " does not fit the data");
+		}
+		specification.passable = new boolean[columns][rows];
+		int current = 0, bit = 8;
+		for (int row = 0; row < rows; ++row) {
+			for (int column = 0; column < columns; ++column) {
+				if (bit == 8) {
+					current = input.readByte();
+					bit = 0;
+				}
+				specification.passable[column][row] = (current & (1 << bit++)) != 0;
+			}
+		}
+
+		int count = input.readVarInt();
+		for (int index = 0; index < count; ++index) {
+			LevelObject.Specification objectSpecification = LevelObjectRegistry.getFactory(input.readVarInt()).createSpecification();
+			objectSpecification.column = input.readVarInt();
+			objectSpecification.row = input.readVarInt();
+			checkCell(objectSpecification.column, objectSpecification.row, columns, rows);
+			objectSpecification.dye = Dye.values()[input.readOrdinal(Dye.values().length)];
+			objectSpecification.read(input);
+			specification.levelObjectsSpecifications.add(objectSpecification);
+		}
+		if (input.position != input.end) {
+			throw new IllegalArgumentException((input.end - input.position) + " extra bytes after the level objects");
+		}
+		return specification;
+	}
+
+	private static void writePoint(Output output, GridPoint point) {
+		output.writeSignedVarInt(point.x);
+		output.writeSignedVarInt(point.y);
+	}
+
+	private static GridPoint readPoint(Input input, int columns, int rows) {
+		int x = input.readSignedVarInt();
+		int y = input.readSignedVarInt();
+		checkCell(x, y, columns, rows);
+		return new GridPoint(x, y);
+	}
+
+	private static void checkCell(int column, int row, int columns, int rows) {
+		if (column < 0 || column >= columns || row < 0 || row >= rows) {
+			throw new IllegalArgumentException("Cell (" + column + ", " + row + ") is off the " + columns + "x" + rows + " level");
+		}
+	}
+}
@@ -0,0 +1,166 @@
+package com.github.donttouchit.game;
+
+/**
+ * Undo and redo of the moves made in a level. A move is stored as a delta: the objects whose packed state
+ * (see {@link Level#saveState(int[])}) has changed, with their states before and after it. Undo and redo write
+ * these states back in place, so their cost depends only on the size of the move.
+ *
+ * The deltas are kept in ring buffers. When either of them is full, the oldest moves are forgotten,
+ * so the memory stays bounded however long the level is played.
+ *
+ * The effect of a move is recorded when the next move starts or the history is used,
+ * so the delta also catches what changes after the ball stops, like a wall closing behind it.
+ */
+public class LevelHistory {
+	private static final int MOVE_CAPACITY = 1 << 12;
+	private static final int ENTRY_CAPACITY = 1 << 15;
+	private static final int MOVE_MASK = MOVE_CAPACITY - 1;
+	private static final int ENTRY_MASK = ENTRY_CAPACITY - 1;
+
+	private final Level level;
+
+	// Entries of all the moves: index of the object, its state before and after the move.
+	private final int[] entryObjects = new int[ENTRY_CAPACITY];
+	private final int[] entryBefore = new int[ENTRY_CAPACITY];
+	private final int[] entryAfter = new int[ENTRY_CAPACITY];
+	// Position after the last entry of a move, by the number of the move.
+	private final int[] moveEnds = new int[MOVE_CAPACITY];
+
+	// Moves are numbered from the start. The entries of move number m are from moveEnd(m - 1) to moveEnds[m].
+	private int oldestMove = 0;
+	private int oldestMoveStart = 0;
+	private int currentMove = 0;
+	private int lastMove = 0;
+
+	private int[] baseline;
+	private int[] state;
+
+	public LevelHistory(Level level) {
+		this.level = level;
+		baseline = level.saveState(null);
+		level.setHistory(this);
+	}
+
+	private int moveEnd(int move) {
+		return move == oldestMove ? oldestMoveStart : moveEnds[(move - 1) & MOVE_MASK];
+	}
+
+	/**
+	 * Stores the changes of the level since the last record as a move, if there are any.
+	 */
+	public void record() {
+		state = level.saveState(state);
+		int changed = 0;
+		for (int index = 0; index < state.length; ++index) {
+			if (state[index] != baseline[index]) {
+				++changed;
+			}
+		}
+		if (changed == 0) {
+			return;
+		}
+		if (changed > ENTRY_CAPACITY) {
+			// The move does not fit at all, so nothing before it can be undone.
+			clear();
+			return;
+		}
+
+		// A new move drops the moves which could be redone.
+		lastMove = currentMove;
+		int start = moveEnd(currentMove);
+		while (currentMove - oldestMove >= MOVE_CAPACITY
+				|| currentMove > oldestMove && start + changed - oldestMoveStart > ENTRY_CAPACITY) {
+			oldestMoveStart = moveEnds[oldestMove & MOVE_MASK];
+			++oldestMove;
+		}
+		if (currentMove == oldestMove) {
+			oldestMoveStart = start;
+		}
+
+		int end = start;
+		for (int index = 0; index < state.length; ++index) {
+			if (state[index] != baseline[index]) {
+				entryObjects[end & ENTRY_MASK] = index;
+				entryBefore[end & ENTRY_MASK] = baseline[index];
+				entryAfter[end & ENTRY_MASK] = state[index];
+				++end;
+			}
+		}
+		moveEnds[currentMove & MOVE_MASK] = end;
+		lastMove = ++currentMove;
+
+		int[] swap = baseline;
+		baseline = state;
+		state = swap;
+	}
+
+	public boolean canUndo() {
+		return currentMove > oldestMove || hasUnrecordedChanges();
+	}
+
+	public boolean canRedo() {
+		return currentMove < lastMove && !hasUnrecordedChanges();
+	}
+
+	private boolean hasUnrecordedChanges() {
+		state = level.saveState(state);
+		for (int index = 0; index < state.length; ++index) {
+			if (state[index] != baseline[index]) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Takes back the last move. Returns false if there is nothing to undo or a ball is still moving.
+	 */
+	public boolean undo() {
+		if (level.isInAction()) {
+			return false;
+		}
+		record();
+		if (currentMove == oldestMove) {
+			return false;
+		}
+		--currentMove;
+		int start = moveEnd(currentMove), end = moveEnds[currentMove & MOVE_MASK];
+		for (int entry = end - 1; entry - start >= 0; --entry) {
+			apply(entryObjects[entry & ENTRY_MASK], entryBefore[entry & ENTRY_MASK]);
+		}
+		return true;
+	}
+
+	/**
+	 * Makes again the last undone move. Returns false if there is nothing to redo or a ball is still moving.
+	 */
+	public boolean redo() {
+		if (level.isInAction()) {
+			return false;
+		}
+		record();
+		if (currentMove == lastMove) {
+			return false;
+		}
+		int start = moveEnd(currentMove), end = moveEnds[currentMove & MOVE_MASK];
+		for (int entry = start; end - entry > 0; ++entry) {
+			apply(entryObjects[entry & ENTRY_MASK], entryAfter[entry & ENTRY_MASK]);
+		}
+		++currentMove;
+		return true;
+	}
+
+	private void apply(int index, int objectState) {
+		level.restoreState(index, objectState);
+		baseline[index] = objectState;
+	}
+
+	/**
+	 * Forgets all the moves. The current state of the level becomes the oldest one.
+	 */
+	public void clear() {
+		baseline = level.saveState(baseline);
+		oldestMove = currentMove = lastMove = 0;
+		oldestMoveStart = 0;
+	}
+}
@@ -0,0 +1,8 @@
+package com.github.donttouchit.game;
+
+public interface LevelListener {
+	void levelObjectAdded(LevelObject levelObject);
+	void levelObjectRemoved(LevelObject levelObject);
+	void passableChanged(int column, int row);
+	void blockedChanged(int column, int row);
+}
@@ -1,21 +1,14 @@
 package com.github.donttouchit.game;
 
-import com.badlogic.gdx.Gdx;
-import com.badlogic.gdx.math.Vector2;
-import com.badlogic.gdx.scenes.scene2d.Actor;
 import com.github.donttouchit.game.properties.Dye;
 import com.github.donttouchit.geom.GridPoint;
 
-import java.lang.reflect.Constructor;
-
-public abstract class LevelObject extends Actor implements Comparable<LevelObject> {
+public abstract class LevelObject implements Comparable<LevelObject> {
 	private Dye dye;
 	private Level level;
 	private int column = 0, row = 0;
 
 	public LevelObject(int column, int row, Dye dye) {
-		setWidth(Level.CELL_SIZE);
-		setHeight(Level.CELL_SIZE);
 		setColumn(column);
 		setRow(row);
 		setDye(dye);
@@ -26,16 +19,14 @@ public abstract class LevelObject extends Actor implements Comparable<LevelObjec
 		protected int row;
 		protected Dye dye;
 
-		public final LevelObject createLevelObject() {
-			Class specClass = getClass();
-			Constructor constructor = null;
-			try {
-				constructor = this.getClass().getEnclosingClass().getConstructor(specClass);
-				return (LevelObject) constructor.newInstance(this);
-			} catch (Exception e) {
-				Gdx.app.error("Level loading", "Specification is invalid. Null is returned.");
-				return null;
-			}
+		/**
+		 * Writes the fields of the subclass to the binary level format. The position and the dye are written by
+		 * {@link LevelFormat} itself.
+		 */
+		protected void write(LevelFormat.Output output) {
+		}
+
+		protected void read(LevelFormat.Input input) {
 		}
 	}
 
@@ -52,6 +43,26 @@ public abstract class LevelObject extends Actor implements Comparable<LevelObjec
 		this(specification.column, specification.row, specification.dye);
 	}
 
+	public void act(float delta) {
+	}
+
+	/**
+	 * Returns true while the object changes on its own and the level has to be stepped and drawn.
+	 */
+	public boolean isAnimating() {
+		return false;
+	}
+
+	/**
+	 * Returns the runtime state of the object besides its position, packed into the lowest 8 bits.
+	 */
+	public int getState() {
+		return 0;
+	}
+
+	public void setState(int state) {
+	}
+
 	public void setBoardPosition(int column, int row) {
 		setColumn(column);
 		setRow(row);
@@ -78,8 +89,11 @@ public abstract class LevelObject extends Actor implements Comparable<LevelObjec
 	}
 
 	public void setColumn(int column) {
+		int previousColumn = this.column;
 		this.column = column;
-		setX(this.column * Level.CELL_SIZE);
+		if (level != null) {
+			level.levelObjectMoved(this, previousColumn, row);
+		}
 	}
 
 	public int getRow() {
@@ -87,12 +101,11 @@ public abstract class LevelObject extends Actor implements Comparable<LevelObjec
 	}
 
 	public void setRow(int row) {
+		int previousRow = this.row;
 		this.row = row;
-		setY(this.row * Level.CELL_SIZE);
-	}
-
-	public Vector2 getCenter() {
-		return new Vector2(0.5f * Level.CELL_SIZE, 0.5f * Level.CELL_SIZE);
+		if (level != null) {
+			level.levelObjectMoved(this, column, previousRow);
+		}
 	}
 
 	public Dye getDye() {
@@ -100,9 +113,23 @@ public abstract class LevelObject extends Actor implements Comparable<LevelObjec
 	}
 
 	public void setDye(Dye dye) {
+		Dye previousDye = this.dye;
 		this.dye = dye;
+		if (level != null) {
+			level.levelObjectDyeChanged(this, previousDye);
+		}
 	}
 
 	public void changeParameter() {
 	}
+
+	/**
+	 * Returns the value which is changed by {@link #changeParameter()}, so the editor can put it back.
+	 */
+	public int getParameter() {
+		return 0;
+	}
+
+	public void setParameter(int parameter) {
+	}
 }
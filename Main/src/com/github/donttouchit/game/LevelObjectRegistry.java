@@ -0,0 +1,166 @@
+package com.github.donttouchit.game;
+
+import com.github.donttouchit.game.properties.Dye;
+import com.github.donttouchit.geom.Direction;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Factories of every kind of level objects, keyed by the type id stored in the binary {@link LevelFormat}.
+ * Levels, the serializers and the editor brushes create objects and specifications only through it.
+ */
+public class LevelObjectRegistry {
+	public static abstract class Factory<S extends LevelObject.Specification> {
+		private final int typeId;
+		private final Class<S> specificationClass;
+
+		protected Factory(int typeId, Class<S> specificationClass) {
+			this.typeId = typeId;
+			this.specificationClass = specificationClass;
+		}
+
+		public int getTypeId() {
+			return typeId;
+		}
+
+		/**
+		 * Returns an empty specification to be filled by a reader.
+		 */
+		public abstract S createSpecification();
+
+		protected abstract LevelObject create(S specification);
+
+		private LevelObject createChecked(LevelObject.Specification specification) {
+			return create(specificationClass.cast(specification));
+		}
+
+		/**
+		 * Returns the specification the editor brush of this kind starts with.
+		 */
+		public S createDefaultSpecification() {
+			S specification = createSpecification();
+			specification.dye = Dye.GREEN;
+			return specification;
+		}
+	}
+
+	private static final List<Factory<?>> factories = new ArrayList<Factory<?>>();
+	private static final Map<Integer, Factory<?>> factoriesById = new HashMap<Integer, Factory<?>>();
+	private static final Map<Class<? extends LevelObject.Specification>, Factory<?>> factoriesByClass =
+			new HashMap<Class<? extends LevelObject.Specification>, Factory<?>>();
+
+	static {
+		// Ids are stored in the files, so they must never change. The order of registration is the order of the brushes.
+		register(new Factory<PressurePlate.Specification>(6, PressurePlate.Specification.class) {
+			@Override
+			public PressurePlate.Specification createSpecification() {
+				return new PressurePlate.Specification();
+			}
+
+			@Override
+			protected LevelObject create(PressurePlate.Specification specification) {
+				return new PressurePlate(specification);
+			}
+		});
+		register(new Factory<ImaginaryWall.Specification>(4, ImaginaryWall.Specification.class) {
+			@Override
+			public ImaginaryWall.Specification createSpecification() {
+				return new ImaginaryWall.Specification();
+			}
+
+			@Override
+			protected LevelObject create(ImaginaryWall.Specification specification) {
+				return new ImaginaryWall(specification);
+			}
+		});
+		register(new Factory<Arrow.Specification>(3, Arrow.Specification.class) {
+			@Override
+			public Arrow.Specification createSpecification() {
+				return new Arrow.Specification();
+			}
+
+			@Override
+			public Arrow.Specification createDefaultSpecification() {
+				Arrow.Specification specification = super.createDefaultSpecification();
+				specification.direction = Direction.TOP;
+				specification.rotationSpeed = 1;
+				return specification;
+			}
+
+			@Override
+			protected LevelObject create(Arrow.Specification specification) {
+				return new Arrow(specification);
+			}
+		});
+		register(new Factory<Pedestal.Specification>(5, Pedestal.Specification.class) {
+			@Override
+			public Pedestal.Specification createSpecification() {
+				return new Pedestal.Specification();
+			}
+
+			@Override
+			protected LevelObject create(Pedestal.Specification specification) {
+				return new Pedestal(specification);
+			}
+		});
+		register(new Factory<HeavyBall.Specification>(1, HeavyBall.Specification.class) {
+			@Override
+			public HeavyBall.Specification createSpecification() {
+				return new HeavyBall.Specification();
+			}
+
+			@Override
+			protected LevelObject create(HeavyBall.Specification specification) {
+				return new HeavyBall(specification);
+			}
+		});
+		register(new Factory<LightBall.Specification>(2, LightBall.Specification.class) {
+			@Override
+			public LightBall.Specification createSpecification() {
+				return new LightBall.Specification();
+			}
+
+			@Override
+			protected LevelObject create(LightBall.Specification specification) {
+				return new LightBall(specification);
+			}
+		});
+	}
+
+	private static void register(Factory<?> factory) {
+		if (factoriesById.containsKey(factory.typeId)) {
+			throw new IllegalStateException("Type id " + factory.typeId + " is registered twice");
+		}
+		factories.add(factory);
+		factoriesById.put(factory.typeId, factory);
+		factoriesByClass.put(factory.specificationClass, factory);
+	}
+
+	public static List<Factory<?>> getFactories() {
+		return Collections.unmodifiableList(factories);
+	}
+
+	public static Factory<?> getFactory(int typeId) {
+		Factory<?> factory = factoriesById.get(typeId);
+		if (factory == null) {
+			throw new IllegalArgumentException("Unknown level object type id " + typeId);
+		}
+		return factory;
+	}
+
+	public static Factory<?> getFactory(LevelObject.Specification specification) {
+		Factory<?> factory = factoriesByClass.get(specification.getClass());
+		if (factory == null) {
+			throw new IllegalArgumentException("There is no factory for " + specification.getClass().getName());
+		}
+		return factory;
+	}
+
+	public static LevelObject create(LevelObject.Specification specification) {
+		return getFactory(specification).createChecked(specification);
+	}
+}
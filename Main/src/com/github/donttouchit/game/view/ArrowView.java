@@ -0,0 +1,75 @@
+package com.github.donttouchit.game.view;
+
+import com.badlogic.gdx.math.Polygon;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.scenes.scene2d.InputEvent;
+import com.badlogic.gdx.scenes.scene2d.utils.ActorGestureListener;
+import com.github.donttouchit.game.Arrow;
+import com.github.donttouchit.geom.Direction;
+
+public class ArrowView extends LevelObjectView {
+	private static final float ARROW_LENGTH = 20;
+	private static final float ARROW_HEIGHT = 10;
+	private static final float[] defaultAngles = {
+			ARROW_LENGTH / 2,
+			-ARROW_HEIGHT,
+			ARROW_LENGTH / 2,
+			ARROW_HEIGHT,
+			ARROW_LENGTH + ARROW_HEIGHT,
+			0
+	};
+
+	private final float[] angles = new float[6];
+	private final Polygon polygon = new Polygon(defaultAngles);
+	private final Rectangle rect = new Rectangle();
+	private final Arrow arrow;
+
+	public ArrowView(final Arrow arrow) {
+		super(arrow);
+		this.arrow = arrow;
+
+		addListener(new ActorGestureListener() {
+			@Override
+			public void tap(InputEvent event, float x, float y, int count, int button) {
+				super.tap(event, x, y, count, button);
+				arrow.turnArrows();
+			}
+		});
+	}
+
+	private void buildAngles() {
+		Vector2 center = getCenter();
+		polygon.setPosition(center.x, center.y);
+		polygon.setRotation(Direction.RIGHT.angleTo(arrow.getDirection()));
+		System.arraycopy(polygon.getTransformedVertices(), 0, angles, 0, 6);
+	}
+
+	@Override
+	protected int getSpriteState() {
+		return arrow.getDye().ordinal() << 3 | arrow.getDirection().ordinal();
+	}
+
+	@Override
+	public void rasterize(ShapeSprites.Canvas canvas) {
+		Vector2 center = getCenter();
+
+		Direction direction = arrow.getDirection();
+		if (direction.isHorizontal()) {
+			rect.set(-ARROW_LENGTH / 2, -ARROW_HEIGHT / 2, ARROW_LENGTH, ARROW_HEIGHT);
+		} else if (direction.isVertical()) {
+			rect.set(-ARROW_HEIGHT / 2, -ARROW_LENGTH / 2, ARROW_HEIGHT, ARROW_LENGTH);
+		} else {
+			rect.set(0, 0, 0, 0);
+		}
+		rect.x += center.x;
+		rect.y += center.y;
+
+		buildAngles();
+
+		canvas.setColor(arrow.getDye().getColor());
+		canvas.rect(rect.x, rect.y, rect.width, rect.height);
+
+		canvas.triangle(angles[0], angles[1], angles[2], angles[3], angles[4], angles[5]);
+	}
+}
@@ -0,0 +1,69 @@
+package com.github.donttouchit.game.view;
+
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.scenes.scene2d.InputEvent;
+import com.badlogic.gdx.scenes.scene2d.utils.ActorGestureListener;
+import com.github.donttouchit.game.Ball;
+import com.github.donttouchit.game.Level;
+import com.github.donttouchit.geom.Direction;
+
+public class BallView extends LevelObjectView {
+	private final Ball ball;
+	protected float R = 30;
+
+	public BallView(final Ball ball) {
+		super(ball);
+		this.ball = ball;
+
+		addListener(new ActorGestureListener() {
+			@Override
+			public void fling(InputEvent event, float velocityX, float velocityY, int button) {
+				Direction direction;
+				if (Math.abs(velocityX) > Math.abs(velocityY)) {
+					direction = velocityX > 0 ? Direction.RIGHT : Direction.LEFT;
+				} else {
+					direction = velocityY > 0 ? Direction.TOP : Direction.BOTTOM;
+				}
+				ball.move(direction);
+			}
+		});
+	}
+
+	@Override
+	protected int getSpriteState() {
+		return (int) R << 8 | ball.getDye().ordinal() << 1 | (ball.isInHole() ? 1 : 0);
+	}
+
+	@Override
+	public void rasterize(ShapeSprites.Canvas canvas) {
+		Vector2 center = getCenter();
+
+		// Border
+		float innerR = R;
+		if (ball.isInHole()) {
+			canvas.setColor(1.0f, 0.84f, 0.0f, 1.0f);
+			innerR = R * 4 / 5;
+		} else {
+			canvas.setColor(0.0f, 0.0f, 0.0f, 1.0f);
+		}
+		canvas.circle(center.x, center.y, R);
+
+		// Inner
+		canvas.setColor(ball.getDye().getColor());
+		canvas.circle(center.x, center.y, innerR);
+	}
+
+	@Override
+	protected void updatePosition() {
+		float alpha = ball.getLevel() == null ? 1 : ball.getLevel().getInterpolationAlpha();
+		setPosition(ball.getInterpolatedX(alpha) * Level.CELL_SIZE, ball.getInterpolatedY(alpha) * Level.CELL_SIZE);
+	}
+
+	public float getR() {
+		return R;
+	}
+
+	public void setR(float r) {
+		R = r;
+	}
+}
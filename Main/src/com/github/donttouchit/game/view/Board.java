@@ -0,0 +1,209 @@
+package com.github.donttouchit.game.view;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.SpriteCache;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.scenes.scene2d.Actor;
+import com.badlogic.gdx.scenes.scene2d.Stage;
+import com.github.donttouchit.game.Level;
+import com.github.donttouchit.geom.GridPoint;
+import com.github.donttouchit.utils.Assets;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Draws the floor and the walls of a level from a SpriteCache, which is split into square chunks of cells.
+ * Only the chunks with changed cells are built again. The tiles come from the game atlas,
+ * so a frame costs one draw call per chunk.
+ *
+ * The tiles are drawn by {@link #drawTiles(Stage)} before the stage, under everything else, so the stage batch
+ * is never interrupted for them. Every board has a cache of its own, it is freed when the board leaves the stage.
+ */
+public class Board extends Actor {
+	private static final int CHUNK_SIZE = 32;
+
+	// Boards on a stage, which may have tiles to draw.
+	private static final List<Board> boards = new ArrayList<Board>();
+	private static final Vector2 corner = new Vector2();
+
+	private SpriteCache tileCache;
+	private int chunkColumns, chunkRows;
+	private int[] chunkCaches;
+	private boolean[] dirtyChunks;
+	private boolean dirty = false;
+	private final Matrix4 tileTransform = new Matrix4();
+	private final TextureRegion wallRegion = Assets.getRegion(Assets.WALL);
+	private final TextureRegion floorRegion = Assets.getRegion(Assets.FLOOR);
+
+	public Level getLevel() {
+		return level;
+	}
+
+	public void setLevel(Level level) {
+		this.level = level;
+		disposeTiles();
+	}
+
+	private Level level;
+
+	public Board(Level level) {
+		setLevel(level);
+		setWidth(getLevel().getColumns() * Level.CELL_SIZE);
+		setHeight(getLevel().getRows() * Level.CELL_SIZE);
+	}
+
+	/**
+	 * Marks the cell to be drawn again, must be called when its passability changes.
+	 */
+	public void cellChanged(int column, int row) {
+		if (tileCache != null) {
+			dirtyChunks[(row / CHUNK_SIZE) * chunkColumns + column / CHUNK_SIZE] = true;
+			dirty = true;
+		}
+	}
+
+	@Override
+	protected void setStage(Stage stage) {
+		super.setStage(stage);
+		if (stage == null) {
+			boards.remove(this);
+			disposeTiles();
+		} else if (!boards.contains(this)) {
+			boards.add(this);
+		}
+	}
+
+	private void buildTiles() {
+		tileCache = new SpriteCache(Math.max(getLevel().getColumns() * getLevel().getRows(), 1), false);
+		chunkColumns = (getLevel().getColumns() + CHUNK_SIZE - 1) / CHUNK_SIZE;
+		chunkRows = (getLevel().getRows() + CHUNK_SIZE - 1) / CHUNK_SIZE;
+		chunkCaches = new int[chunkColumns * chunkRows];
+		dirtyChunks = new boolean[chunkColumns * chunkRows];
+		for (int chunk = 0; chunk < chunkCaches.length; ++chunk) {
+			tileCache.beginCache();
+			addChunk(chunk);
+			chunkCaches[chunk] = tileCache.endCache();
+		}
+		dirty = false;
+	}
+
+	private void rebuildDirtyChunks() {
+		for (int chunk = 0; chunk < chunkCaches.length; ++chunk) {
+			if (dirtyChunks[chunk]) {
+				// Every chunk always holds one tile per cell, so it fits into its old place.
+				tileCache.beginCache(chunkCaches[chunk]);
+				addChunk(chunk);
+				tileCache.endCache();
+				dirtyChunks[chunk] = false;
+			}
+		}
+		dirty = false;
+	}
+
+	private void disposeTiles() {
+		if (tileCache != null) {
+			tileCache.dispose();
+			tileCache = null;
+		}
+	}
+
+	/**
+	 * Frees the tiles of every board, called when the application exits.
+	 */
+	public static void disposeAll() {
+		for (Board board : boards) {
+			board.disposeTiles();
+		}
+		boards.clear();
+	}
+
+	/**
+	 * Draws the tiles of the visible boards of the stage. Must be called right before the stage is drawn.
+	 */
+	public static void drawTiles(Stage stage) {
+		Matrix4 projection = null;
+		for (int index = 0; index < boards.size(); ++index) {
+			Board board = boards.get(index);
+			if (board.getStage() == stage && board.isShown()) {
+				if (projection == null) {
+					// The stage updates its camera only in draw, which comes after the tiles.
+					stage.getCamera().update();
+					projection = stage.getCamera().combined;
+				}
+				board.drawTiles(projection);
+			}
+		}
+	}
+
+	private boolean isShown() {
+		for (Actor actor = this; actor != null; actor = actor.getParent()) {
+			if (!actor.isVisible()) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private void drawTiles(Matrix4 projection) {
+		if (tileCache == null) {
+			buildTiles();
+		} else if (dirty) {
+			rebuildDirtyChunks();
+		}
+
+		// Boards are scaled and moved but never rotated, so two corners give the whole transform.
+		localToStageCoordinates(corner.set(0, 0));
+		float x = corner.x, y = corner.y;
+		localToStageCoordinates(corner.set(getWidth(), getHeight()));
+		tileTransform.setToTranslation(x, y, 0).scale((corner.x - x) / getWidth(), (corner.y - y) / getHeight(), 1);
+
+		tileCache.setProjectionMatrix(projection);
+		tileCache.setTransformMatrix(tileTransform);
+		tileCache.begin();
+		for (int chunk = 0; chunk < chunkCaches.length; ++chunk) {
+			tileCache.draw(chunkCaches[chunk]);
+		}
+		tileCache.end();
+	}
+
+	private void addChunk(int chunk) {
+		int firstColumn = (chunk % chunkColumns) * CHUNK_SIZE, firstRow = (chunk / chunkColumns) * CHUNK_SIZE;
+		int lastColumn = Math.min(firstColumn + CHUNK_SIZE, getLevel().getColumns());
+		int lastRow = Math.min(firstRow + CHUNK_SIZE, getLevel().getRows());
+		for (int column = firstColumn; column < lastColumn; ++column) {
+			for (int row = firstRow; row < lastRow; ++row) {
+				TextureRegion region = getLevel().isPassable(column, row) ? floorRegion : wallRegion;
+				tileCache.add(region, column * Level.CELL_SIZE, row * Level.CELL_SIZE, Level.CELL_SIZE, Level.CELL_SIZE);
+			}
+		}
+	}
+
+	@Override
+	public void draw(SpriteBatch batch, float parentAlpha) {
+		// The tiles are already drawn by drawTiles, only the frames of the cells are queued here.
+		GridPoint enter = getLevel().getEnterPoint(), exit = getLevel().getExitPoint();
+
+		ShapeBatch shapeBatch = ShapeBatch.get(batch);
+		shapeBatch.setOffset(getX(), getY());
+		shapeBatch.setType(ShapeRenderer.ShapeType.Line);
+		shapeBatch.setLineWidth(3.0f);
+
+		shapeBatch.setColor(Color.MAGENTA);
+		shapeBatch.rect(enter.x * Level.CELL_SIZE, enter.y * Level.CELL_SIZE, Level.CELL_SIZE, Level.CELL_SIZE);
+
+		shapeBatch.setColor(Color.PINK);
+		shapeBatch.rect(exit.x * Level.CELL_SIZE, exit.y * Level.CELL_SIZE, Level.CELL_SIZE, Level.CELL_SIZE);
+
+		if (getLevel().hasExitWay()) {
+			shapeBatch.setColor(Color.RED);
+			shapeBatch.rect(0, 0, getWidth(), getHeight());
+		}
+
+		super.draw(batch, parentAlpha);
+	}
+}
@@ -0,0 +1,39 @@
+package com.github.donttouchit.game.view;
+
+import com.badlogic.gdx.math.Vector2;
+import com.github.donttouchit.game.ImaginaryWall;
+import com.github.donttouchit.game.Level;
+
+public class ImaginaryWallView extends LevelObjectView {
+	private static final float WALL_SIZE = 10;
+	private static final float WALL_PADDING = 4;
+
+	private final ImaginaryWall imaginaryWall;
+
+	public ImaginaryWallView(ImaginaryWall imaginaryWall) {
+		super(imaginaryWall);
+		this.imaginaryWall = imaginaryWall;
+	}
+
+	@Override
+	protected int getSpriteState() {
+		return imaginaryWall.getDye().ordinal() << 1 | (imaginaryWall.isOpened() ? 1 : 0);
+	}
+
+	@Override
+	public void rasterize(ShapeSprites.Canvas canvas) {
+		Vector2 center = getCenter();
+
+		canvas.setColor(imaginaryWall.getDye().getColor());
+
+		if (!imaginaryWall.isOpened()) {
+			canvas.rect(0, WALL_PADDING, Level.CELL_SIZE, WALL_SIZE);
+			canvas.rect(0, center.y - WALL_SIZE / 2, Level.CELL_SIZE, WALL_SIZE);
+			canvas.rect(0, Level.CELL_SIZE - WALL_SIZE - WALL_PADDING, Level.CELL_SIZE, WALL_SIZE);
+
+			canvas.rect(WALL_PADDING, 0, WALL_SIZE, Level.CELL_SIZE);
+			canvas.rect(center.x - WALL_SIZE / 2, 0, WALL_SIZE, Level.CELL_SIZE);
+			canvas.rect(Level.CELL_SIZE - WALL_SIZE - WALL_PADDING, 0, WALL_SIZE, Level.CELL_SIZE);
+		}
+	}
+}
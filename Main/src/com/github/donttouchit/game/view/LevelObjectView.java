@@ -0,0 +1,62 @@
+package com.github.donttouchit.game.view;
+
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.scenes.scene2d.Actor;
+import com.github.donttouchit.game.Level;
+import com.github.donttouchit.game.LevelObject;
+
+/**
+ * Draws its object as a cell sized sprite of {@link ShapeSprites}. Subclasses rasterize the sprite
+ * and tell by {@link #getSpriteState()} when it has to be changed.
+ */
+public abstract class LevelObjectView extends Actor implements ShapeSprites.Rasterizer {
+	private final LevelObject levelObject;
+	private final Vector2 center = new Vector2(0.5f * Level.CELL_SIZE, 0.5f * Level.CELL_SIZE);
+	private TextureRegion sprite;
+	private int spriteState;
+
+	public LevelObjectView(LevelObject levelObject) {
+		this.levelObject = levelObject;
+		setWidth(Level.CELL_SIZE);
+		setHeight(Level.CELL_SIZE);
+		updatePosition();
+	}
+
+	public LevelObject getLevelObject() {
+		return levelObject;
+	}
+
+	@Override
+	public void act(float delta) {
+		super.act(delta);
+		updatePosition();
+	}
+
+	protected void updatePosition() {
+		setPosition(levelObject.getColumn() * Level.CELL_SIZE, levelObject.getRow() * Level.CELL_SIZE);
+	}
+
+	/**
+	 * Returns a number which is different for every look of the object: its dye, direction, state and so on.
+	 */
+	protected int getSpriteState() {
+		return levelObject.getDye().ordinal();
+	}
+
+	@Override
+	public void draw(SpriteBatch batch, float parentAlpha) {
+		super.draw(batch, parentAlpha);
+		int state = getSpriteState();
+		if (sprite == null || state != spriteState) {
+			sprite = ShapeSprites.get(getClass(), state, this);
+			spriteState = state;
+		}
+		batch.draw(sprite, getX(), getY(), Level.CELL_SIZE, Level.CELL_SIZE);
+	}
+
+	public Vector2 getCenter() {
+		return center.set(0.5f * Level.CELL_SIZE, 0.5f * Level.CELL_SIZE);
+	}
+}
@@ -0,0 +1,99 @@
+package com.github.donttouchit.game.view;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.scenes.scene2d.Group;
+import com.github.donttouchit.game.*;
+
+import java.util.HashMap;
+import java.util.Map;
+
+public class LevelView extends Group implements LevelListener {
+	private final Level level;
+	private final Board board;
+	private final Map<LevelObject, LevelObjectView> levelObjectViews = new HashMap<LevelObject, LevelObjectView>();
+
+	public LevelView(Level level) {
+		this.level = level;
+		setWidth(level.getColumns() * Level.CELL_SIZE);
+		setHeight(level.getRows() * Level.CELL_SIZE);
+
+		float w = Gdx.graphics.getWidth() - 2 * Level.CELL_SIZE;
+		float h = Gdx.graphics.getHeight() - Level.CELL_SIZE;
+		fit(Level.CELL_SIZE, Level.CELL_SIZE / 2, w, h);
+
+		board = new Board(level);
+		addActor(board);
+		for (LevelObject levelObject : level.getLevelObjects()) {
+			levelObjectAdded(levelObject);
+		}
+		level.addLevelListener(this);
+	}
+
+	public static LevelObjectView createView(LevelObject levelObject) {
+		if (levelObject instanceof LightBall) {
+			return new LightBallView((LightBall) levelObject);
+		} else if (levelObject instanceof Ball) {
+			return new BallView((Ball) levelObject);
+		} else if (levelObject instanceof Arrow) {
+			return new ArrowView((Arrow) levelObject);
+		} else if (levelObject instanceof ImaginaryWall) {
+			return new ImaginaryWallView((ImaginaryWall) levelObject);
+		} else if (levelObject instanceof Pedestal) {
+			return new PedestalView((Pedestal) levelObject);
+		} else if (levelObject instanceof PressurePlate) {
+			return new PressurePlateView((PressurePlate) levelObject);
+		}
+		throw new IllegalArgumentException("There is no view for " + levelObject.getClass().getSimpleName());
+	}
+
+	public Level getLevel() {
+		return level;
+	}
+
+	@Override
+	public void act(float delta) {
+		level.act(delta);
+		super.act(delta);
+	}
+
+	@Override
+	public void levelObjectAdded(LevelObject levelObject) {
+		LevelObjectView view = createView(levelObject);
+		levelObjectViews.put(levelObject, view);
+		// Keep the views sorted by depth, as the objects are drawn in the order of the children.
+		int index = getChildren().size;
+		while (index > 0 && getChildren().get(index - 1) instanceof LevelObjectView
+				&& ((LevelObjectView) getChildren().get(index - 1)).getLevelObject().compareTo(levelObject) > 0) {
+			--index;
+		}
+		addActorAt(index, view);
+	}
+
+	@Override
+	public void levelObjectRemoved(LevelObject levelObject) {
+		LevelObjectView view = levelObjectViews.remove(levelObject);
+		if (view != null) {
+			removeActor(view);
+		}
+	}
+
+	@Override
+	public void passableChanged(int column, int row) {
+		board.cellChanged(column, row);
+	}
+
+	@Override
+	public void blockedChanged(int column, int row) {
+	}
+
+	public void fit(float x, float y, float w, float h) {
+		float xAspect = w / getWidth();
+		float yAspect = h / getHeight();
+		float aspect = Math.min(xAspect, yAspect);
+
+		float dx = (w - (getWidth() * aspect)) / 2;
+		float dy = (h - (getHeight() * aspect)) / 2;
+		setPosition(x + dx, y + dy);
+		setScale(aspect);
+	}
+}
@@ -0,0 +1,40 @@
+package com.github.donttouchit.game.view;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.math.Vector2;
+import com.github.donttouchit.game.LightBall;
+
+public class LightBallView extends BallView {
+	private static final float HEALTH_POINT_SIZE = 6;
+	private static final float HEALTH_POINT_PADDING = 4;
+	private final LightBall lightBall;
+
+	public LightBallView(LightBall lightBall) {
+		super(lightBall);
+		this.lightBall = lightBall;
+	}
+
+	@Override
+	protected int getSpriteState() {
+		return super.getSpriteState() << 2 | lightBall.getHealth();
+	}
+
+	@Override
+	public void rasterize(ShapeSprites.Canvas canvas) {
+		super.rasterize(canvas);
+
+		Vector2 center = getCenter();
+
+		float x = center.x - 1.5f * HEALTH_POINT_SIZE - HEALTH_POINT_PADDING;
+		float y = center.y - 0.5f * HEALTH_POINT_SIZE;
+		for (int i = 0; i < LightBall.MAX_HEALTH; ++i) {
+			if (lightBall.getHealth() >= i + 1) {
+				canvas.setColor(Color.WHITE);
+			} else {
+				canvas.setColor(Color.BLACK);
+			}
+			float cx = x + i * (HEALTH_POINT_SIZE + HEALTH_POINT_PADDING);
+			canvas.rect(cx, y, HEALTH_POINT_SIZE, HEALTH_POINT_SIZE);
+		}
+	}
+}
@@ -0,0 +1,19 @@
+package com.github.donttouchit.game.view;
+
+import com.github.donttouchit.game.Level;
+import com.github.donttouchit.game.Pedestal;
+
+public class PedestalView extends LevelObjectView {
+	private final Pedestal pedestal;
+
+	public PedestalView(Pedestal pedestal) {
+		super(pedestal);
+		this.pedestal = pedestal;
+	}
+
+	@Override
+	public void rasterize(ShapeSprites.Canvas canvas) {
+		canvas.setColor(pedestal.getDye().getColor());
+		canvas.rect(1, 1, Level.CELL_SIZE - 1, Level.CELL_SIZE - 1);
+	}
+}
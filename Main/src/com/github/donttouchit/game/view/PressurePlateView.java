@@ -0,0 +1,44 @@
+package com.github.donttouchit.game.view;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.math.Vector2;
+import com.github.donttouchit.game.PressurePlate;
+
+public class PressurePlateView extends LevelObjectView {
+	private static final float PLATE_WIDTH = 40;
+	private static final float PLATE_HEIGHT = 40;
+
+	private final PressurePlate pressurePlate;
+	private final Rectangle rect = new Rectangle();
+
+	public PressurePlateView(PressurePlate pressurePlate) {
+		super(pressurePlate);
+		this.pressurePlate = pressurePlate;
+	}
+
+	@Override
+	protected int getSpriteState() {
+		return pressurePlate.getDye().ordinal() << 1 | (pressurePlate.isPressed() ? 1 : 0);
+	}
+
+	@Override
+	public void rasterize(ShapeSprites.Canvas canvas) {
+		Vector2 center = getCenter();
+		rect.set(-PLATE_WIDTH / 2, -PLATE_HEIGHT / 2, PLATE_WIDTH, PLATE_HEIGHT);
+		rect.x += center.x;
+		rect.y += center.y;
+
+		// Border
+		canvas.setColor(pressurePlate.getDye().getColor());
+		canvas.rect(rect.x, rect.y, rect.width, rect.height);
+
+		// Inner
+		if (pressurePlate.isPressed()) {
+			canvas.setColor(Color.LIGHT_GRAY);
+		} else {
+			canvas.setColor(Color.GRAY);
+		}
+		canvas.rect(rect.x + 2, rect.y + 2, rect.width - 4, rect.height - 4);
+	}
+}
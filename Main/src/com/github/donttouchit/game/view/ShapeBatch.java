@@ -0,0 +1,256 @@
+package com.github.donttouchit.game.view;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.GL10;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
+import com.badlogic.gdx.math.Matrix4;
+
+import java.util.Arrays;
+
+/**
+ * Queues the shapes of all actors drawn with a SpriteBatch and draws them with one shared ShapeRenderer.
+ * Shapes are drawn layer by layer; inside a layer filled shapes go before lines, otherwise the order of calls is kept.
+ *
+ * The queue is drawn by {@link #flushStage(SpriteBatch)} after the stage has ended its batch, so the shapes of a stage
+ * go over its sprites and do not interrupt the batch at all. Only an actor whose sprites must cover its own shapes
+ * calls {@link #flush()}, which ends and restarts the batch. A change of the batch matrices between two shapes
+ * flushes the queue on its own.
+ */
+public class ShapeBatch {
+	private static final int RECT = 0;
+	private static final int CIRCLE = 1;
+	private static final int TRIANGLE = 2;
+	private static final int LINE = 3;
+	private static final int PARAMETERS = 6;
+	private static final long LINE_KEY = 1L << 31;
+
+	private static final ShapeBatch instance = new ShapeBatch();
+	private static long passCount = 0;
+
+	private ShapeRenderer shapeRenderer;
+	private SpriteBatch batch;
+	private final Matrix4 projection = new Matrix4();
+	private final Matrix4 transform = new Matrix4();
+
+	private ShapeRenderer.ShapeType type;
+	private int layer;
+	private float offsetX, offsetY;
+	private float lineWidth;
+	private float red, green, blue, alpha;
+
+	private int count = 0;
+	private int[] kinds = new int[64];
+	private boolean[] filled = new boolean[64];
+	private float[] lineWidths = new float[64];
+	private float[] colors = new float[64 * 4];
+	private float[] parameters = new float[64 * PARAMETERS];
+	private long[] keys = new long[64];
+
+	private ShapeBatch() {
+	}
+
+	/**
+	 * Returns the number of ShapeRenderer passes made since the start.
+	 */
+	public static long getPassCount() {
+		return passCount;
+	}
+
+	/**
+	 * Returns the shared queue bound to the batch, with the default state: filled shapes of layer 0
+	 * in white, no offset and lines of width 1.
+	 */
+	public static ShapeBatch get(SpriteBatch batch) {
+		instance.bind(batch);
+		return instance;
+	}
+
+	private void bind(SpriteBatch batch) {
+		if (this.batch != batch && count > 0) {
+			throw new IllegalStateException("Shapes of another batch were not flushed");
+		}
+		this.batch = batch;
+		type = ShapeRenderer.ShapeType.Filled;
+		layer = 0;
+		offsetX = offsetY = 0;
+		lineWidth = 1;
+		setColor(Color.WHITE);
+	}
+
+	public void setType(ShapeRenderer.ShapeType type) {
+		if (type == ShapeRenderer.ShapeType.Point) {
+			throw new IllegalArgumentException("Points are not supported");
+		}
+		this.type = type;
+	}
+
+	public void setLayer(int layer) {
+		this.layer = layer;
+	}
+
+	/**
+	 * Sets the point added to all coordinates of the next shapes, like {@link ShapeRenderer#translate}.
+	 */
+	public void setOffset(float x, float y) {
+		offsetX = x;
+		offsetY = y;
+	}
+
+	public void setLineWidth(float lineWidth) {
+		this.lineWidth = lineWidth;
+	}
+
+	public void setColor(Color color) {
+		setColor(color.r, color.g, color.b, color.a);
+	}
+
+	public void setColor(float red, float green, float blue, float alpha) {
+		this.red = red;
+		this.green = green;
+		this.blue = blue;
+		this.alpha = alpha;
+	}
+
+	public void rect(float x, float y, float width, float height) {
+		add(RECT, x + offsetX, y + offsetY, width, height, 0, 0);
+	}
+
+	public void circle(float x, float y, float radius) {
+		add(CIRCLE, x + offsetX, y + offsetY, radius, 0, 0, 0);
+	}
+
+	public void triangle(float x1, float y1, float x2, float y2, float x3, float y3) {
+		add(TRIANGLE, x1 + offsetX, y1 + offsetY, x2 + offsetX, y2 + offsetY, x3 + offsetX, y3 + offsetY);
+	}
+
+	public void line(float x1, float y1, float x2, float y2) {
+		add(LINE, x1 + offsetX, y1 + offsetY, x2 + offsetX, y2 + offsetY, 0, 0);
+	}
+
+	private void add(int kind, float a, float b, float c, float d, float e, float f) {
+		if (count > 0 && (!Arrays.equals(projection.val, batch.getProjectionMatrix().val)
+				|| !Arrays.equals(transform.val, batch.getTransformMatrix().val))) {
+			flush();
+		}
+		if (count == 0) {
+			projection.set(batch.getProjectionMatrix());
+			transform.set(batch.getTransformMatrix());
+		}
+		if (count == kinds.length) {
+			grow();
+		}
+
+		boolean isFilled = kind != LINE && type == ShapeRenderer.ShapeType.Filled;
+		kinds[count] = kind;
+		filled[count] = isFilled;
+		lineWidths[count] = lineWidth;
+		int color = count * 4;
+		colors[color] = red;
+		colors[color + 1] = green;
+		colors[color + 2] = blue;
+		colors[color + 3] = alpha;
+		int parameter = count * PARAMETERS;
+		parameters[parameter] = a;
+		parameters[parameter + 1] = b;
+		parameters[parameter + 2] = c;
+		parameters[parameter + 3] = d;
+		parameters[parameter + 4] = e;
+		parameters[parameter + 5] = f;
+
+		// Layer first, then filled shapes before lines, then the order of calls.
+		keys[count] = ((long) (layer ^ Integer.MIN_VALUE) & 0xFFFFFFFFL) << 32 | (isFilled ? 0 : LINE_KEY) | count;
+		++count;
+	}
+
+	private void grow() {
+		int capacity = kinds.length * 2;
+		kinds = Arrays.copyOf(kinds, capacity);
+		filled = Arrays.copyOf(filled, capacity);
+		lineWidths = Arrays.copyOf(lineWidths, capacity);
+		colors = Arrays.copyOf(colors, capacity * 4);
+		parameters = Arrays.copyOf(parameters, capacity * PARAMETERS);
+		keys = Arrays.copyOf(keys, capacity);
+	}
+
+	/**
+	 * Draws all queued shapes over what the batch has drawn so far, ending the batch for that time.
+	 * Does nothing if the queue is empty. Must be called while the batch is drawing.
+	 */
+	public void flush() {
+		if (count == 0) {
+			return;
+		}
+		batch.end();
+		drawQueue();
+		batch.begin();
+	}
+
+	/**
+	 * Draws the shapes left in the queue by the actors of a stage. Must be called after the stage has been drawn,
+	 * when its batch is no longer drawing.
+	 */
+	public static void flushStage(SpriteBatch batch) {
+		if (instance.count > 0 && instance.batch == batch) {
+			instance.drawQueue();
+		}
+	}
+
+	private void drawQueue() {
+		if (shapeRenderer == null) {
+			shapeRenderer = new ShapeRenderer();
+		}
+		shapeRenderer.setProjectionMatrix(projection);
+		shapeRenderer.setTransformMatrix(transform);
+
+		Arrays.sort(keys, 0, count);
+		Gdx.gl.glEnable(GL10.GL_BLEND);
+		Gdx.gl.glBlendFunc(GL10.GL_SRC_ALPHA, GL10.GL_ONE_MINUS_SRC_ALPHA);
+		ShapeRenderer.ShapeType currentType = null;
+		float currentLineWidth = 1;
+		for (int index = 0; index < count; ++index) {
+			int shape = (int) (keys[index] & (LINE_KEY - 1));
+			ShapeRenderer.ShapeType shapeType = filled[shape] ? ShapeRenderer.ShapeType.Filled : ShapeRenderer.ShapeType.Line;
+			boolean widthChanged = !filled[shape] && lineWidths[shape] != currentLineWidth;
+			if (shapeType != currentType || widthChanged) {
+				if (currentType != null) {
+					shapeRenderer.end();
+				}
+				if (widthChanged) {
+					currentLineWidth = lineWidths[shape];
+					Gdx.gl.glLineWidth(currentLineWidth);
+				}
+				shapeRenderer.begin(shapeType);
+				currentType = shapeType;
+				++passCount;
+			}
+
+			int color = shape * 4;
+			shapeRenderer.setColor(colors[color], colors[color + 1], colors[color + 2], colors[color + 3]);
+			int p = shape * PARAMETERS;
+			switch (kinds[shape]) {
+				case RECT:
+					shapeRenderer.rect(parameters[p], parameters[p + 1], parameters[p + 2], parameters[p + 3]);
+					break;
+				case CIRCLE:
+					shapeRenderer.circle(parameters[p], parameters[p + 1], parameters[p + 2]);
+					break;
+				case TRIANGLE:
+					shapeRenderer.triangle(parameters[p], parameters[p + 1], parameters[p + 2],
+							parameters[p + 3], parameters[p + 4], parameters[p + 5]);
+					break;
+				case LINE:
+					shapeRenderer.line(parameters[p], parameters[p + 1], parameters[p + 2], parameters[p + 3]);
+					break;
+			}
+		}
+		shapeRenderer.end();
+		Gdx.gl.glDisable(GL10.GL_BLEND);
+		if (currentLineWidth != 1) {
+			Gdx.gl.glLineWidth(1);
+		}
+
+		count = 0;
+	}
+}
@@ -0,0 +1,122 @@
+package com.github.donttouchit.game.view;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.PixmapPacker;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.utils.IntMap;
+import com.badlogic.gdx.utils.ObjectMap;
+import com.github.donttouchit.game.Level;
+
+/**
+ * Cell sized sprites of the level objects, rasterized on first use and packed into shared textures.
+ * A view asks for the sprite of its current dye, direction and state, so the shapes are built once
+ * and every frame draws them as plain SpriteBatch quads.
+ * The pages are built at run time and are apart from the game atlas of {@link com.github.donttouchit.utils.Assets}.
+ */
+public class ShapeSprites {
+	private static final int PAGE_SIZE = 512;
+	private static final int PADDING = 2;
+	private static final int SIZE = (int) Level.CELL_SIZE;
+
+	public interface Rasterizer {
+		void rasterize(Canvas canvas);
+	}
+
+	/**
+	 * Draws into a cell sized pixmap with the y axis going up, as in the views.
+	 */
+	public static class Canvas {
+		private final Pixmap pixmap = new Pixmap(SIZE, SIZE, Pixmap.Format.RGBA8888);
+
+		private void clear() {
+			pixmap.setColor(0, 0, 0, 0);
+			pixmap.fill();
+		}
+
+		public void setColor(Color color) {
+			pixmap.setColor(color);
+		}
+
+		public void setColor(float red, float green, float blue, float alpha) {
+			pixmap.setColor(red, green, blue, alpha);
+		}
+
+		public void rect(float x, float y, float width, float height) {
+			int left = Math.round(x), top = SIZE - Math.round(y + height);
+			pixmap.fillRectangle(left, top, Math.round(x + width) - left, SIZE - Math.round(y) - top);
+		}
+
+		public void circle(float x, float y, float radius) {
+			pixmap.fillCircle(Math.round(x), SIZE - Math.round(y), Math.round(radius));
+		}
+
+		public void triangle(float x1, float y1, float x2, float y2, float x3, float y3) {
+			pixmap.fillTriangle(Math.round(x1), SIZE - Math.round(y1),
+					Math.round(x2), SIZE - Math.round(y2),
+					Math.round(x3), SIZE - Math.round(y3));
+		}
+	}
+
+	private static final Rasterizer solidRasterizer = new Rasterizer() {
+		@Override
+		public void rasterize(Canvas canvas) {
+			canvas.setColor(Color.WHITE);
+			canvas.rect(0, 0, SIZE, SIZE);
+		}
+	};
+
+	private static PixmapPacker packer;
+	private static TextureAtlas atlas;
+	private static Canvas canvas;
+	private static final ObjectMap<Class<?>, IntMap<TextureRegion>> sprites = new ObjectMap<Class<?>, IntMap<TextureRegion>>();
+
+	/**
+	 * Returns the sprite of the given type in the given state, rasterizing it first if there is no such sprite yet.
+	 * The state must tell apart everything the rasterizer draws.
+	 */
+	public static TextureRegion get(Class<?> type, int state, Rasterizer rasterizer) {
+		IntMap<TextureRegion> states = sprites.get(type);
+		if (states == null) {
+			states = new IntMap<TextureRegion>();
+			sprites.put(type, states);
+		}
+		TextureRegion region = states.get(state);
+		if (region == null) {
+			region = get(type.getSimpleName() + "-" + state, rasterizer);
+			states.put(state, region);
+		}
+		return region;
+	}
+
+	/**
+	 * Returns the sprite with the given name, rasterizing it first if there is no such sprite yet.
+	 * The name must tell apart everything the rasterizer draws.
+	 */
+	public static TextureRegion get(String name, Rasterizer rasterizer) {
+		if (atlas == null) {
+			packer = new PixmapPacker(PAGE_SIZE, PAGE_SIZE, Pixmap.Format.RGBA8888, PADDING, true);
+			atlas = new TextureAtlas();
+			canvas = new Canvas();
+		}
+
+		TextureRegion region = atlas.findRegion(name);
+		if (region == null) {
+			canvas.clear();
+			rasterizer.rasterize(canvas);
+			packer.pack(name, canvas.pixmap);
+			packer.updateTextureAtlas(atlas, Texture.TextureFilter.Linear, Texture.TextureFilter.Linear, false);
+			region = atlas.findRegion(name);
+		}
+		return region;
+	}
+
+	/**
+	 * Returns a white sprite, tinted with the batch color it fills a rectangle of any size without leaving the batch.
+	 */
+	public static TextureRegion getSolid() {
+		return get("solid", solidRasterizer);
+	}
+}
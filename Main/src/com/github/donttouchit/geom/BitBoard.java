@@ -0,0 +1,161 @@
+package com.github.donttouchit.geom;
+
+import java.util.Arrays;
+
+/**
+ * Set of board cells packed into longs, one bit per cell in row-major order.
+ */
+public class BitBoard {
+	private final int columns, rows;
+	private final long[] bits;
+	private long[] firstColumn;
+	private long[] lastColumn;
+
+	public BitBoard(int columns, int rows) {
+		this.columns = columns;
+		this.rows = rows;
+		this.bits = new long[(columns * rows + 63) >>> 6];
+	}
+
+	public int getColumns() {
+		return columns;
+	}
+
+	public int getRows() {
+		return rows;
+	}
+
+	public int index(int column, int row) {
+		return row * columns + column;
+	}
+
+	public boolean get(int column, int row) {
+		int index = index(column, row);
+		return (bits[index >>> 6] & (1L << index)) != 0;
+	}
+
+	public void set(int column, int row, boolean value) {
+		int index = index(column, row);
+		if (value) {
+			bits[index >>> 6] |= 1L << index;
+		} else {
+			bits[index >>> 6] &= ~(1L << index);
+		}
+	}
+
+	public boolean isAnySet(BitBoard other, int column, int row) {
+		int index = index(column, row);
+		return ((bits[index >>> 6] | other.bits[index >>> 6]) & (1L << index)) != 0;
+	}
+
+	public void clear() {
+		Arrays.fill(bits, 0);
+	}
+
+	public void set(BitBoard other) {
+		checkSize(other);
+		System.arraycopy(other.bits, 0, bits, 0, bits.length);
+	}
+
+	public void or(BitBoard other) {
+		checkSize(other);
+		for (int index = 0; index < bits.length; ++index) {
+			bits[index] |= other.bits[index];
+		}
+	}
+
+	public void not() {
+		for (int index = 0; index < bits.length; ++index) {
+			bits[index] = ~bits[index];
+		}
+		int tail = (columns * rows) & 63;
+		if (tail != 0) {
+			bits[bits.length - 1] &= (1L << tail) - 1;
+		}
+	}
+
+	/**
+	 * Grows the set bits through the 4-connected cells of {@code mask} until nothing changes.
+	 * Bits that are already set stay set even if they are outside the mask.
+	 * Every word is spread along its rows until it saturates before the next one is visited,
+	 * and the passes go forward and backward in turn, so a winding corridor is filled in a few passes.
+	 */
+	public void floodFill(BitBoard mask) {
+		checkSize(mask);
+		buildColumnMasks();
+
+		boolean changed = true;
+		boolean forward = true;
+		while (changed) {
+			changed = false;
+			for (int step = 0; step < bits.length; ++step) {
+				int word = forward ? step : bits.length - 1 - step;
+				long grown = (shiftedUp(bits, word, 1) & ~firstColumn[word])
+						| (shiftedDown(bits, word, 1) & ~lastColumn[word])
+						| shiftedUp(bits, word, columns)
+						| shiftedDown(bits, word, columns);
+				grown = spreadInWord(bits[word] | (grown & mask.bits[word]), mask.bits[word], word);
+				if (grown != bits[word]) {
+					bits[word] = grown;
+					changed = true;
+				}
+			}
+			forward = !forward;
+		}
+	}
+
+	private long spreadInWord(long value, long open, int word) {
+		while (true) {
+			long grown = value | ((((value << 1) & ~firstColumn[word]) | ((value >>> 1) & ~lastColumn[word])) & open);
+			if (grown == value) {
+				return value;
+			}
+			value = grown;
+		}
+	}
+
+	private void buildColumnMasks() {
+		if (firstColumn != null) {
+			return;
+		}
+		firstColumn = new long[bits.length];
+		lastColumn = new long[bits.length];
+		for (int row = 0; row < rows; ++row) {
+			int first = index(0, row), last = index(columns - 1, row);
+			firstColumn[first >>> 6] |= 1L << first;
+			lastColumn[last >>> 6] |= 1L << last;
+		}
+	}
+
+	private void checkSize(BitBoard other) {
+		if (other.columns != columns || other.rows != rows) {
+			throw new IllegalArgumentException("Bit boards have different sizes");
+		}
+	}
+
+	private static long shiftedUp(long[] source, int word, int shift) {
+		int from = word - (shift >>> 6);
+		int bitShift = shift & 63;
+		if (from < 0) {
+			return 0;
+		}
+		long value = source[from] << bitShift;
+		if (bitShift != 0 && from > 0) {
+			value |= source[from - 1] >>> (64 - bitShift);
+		}
+		return value;
+	}
+
+	private static long shiftedDown(long[] source, int word, int shift) {
+		int from = word + (shift >>> 6);
+		int bitShift = shift & 63;
+		if (from >= source.length) {
+			return 0;
+		}
+		long value = source[from] >>> bitShift;
+		if (bitShift != 0 && from + 1 < source.length) {
+			value |= source[from + 1] << (64 - bitShift);
+		}
+		return value;
+	}
+}
@@ -1,8 +1,5 @@
 package com.github.donttouchit.geom;
 
-import com.badlogic.gdx.math.GridPoint2;
-import com.badlogic.gdx.math.Vector2;
-
 public enum Direction {
 	NONE,
 	TOP,
@@ -12,13 +9,18 @@ public enum Direction {
 
 	private static final int[] deltaX = {0, 0, 1, 0, -1};
 	private static final int[] deltaY = {0, 1, 0, -1, 0};
+	private static final Direction[] directions = values();
+
+	public int getDeltaX() {
+		return deltaX[ordinal()];
+	}
 
-	public Vector2 getVector2() {
-		return new Vector2(deltaX[ordinal()], deltaY[ordinal()]);
+	public int getDeltaY() {
+		return deltaY[ordinal()];
 	}
 
-	public GridPoint getPoint() {
-		return new GridPoint(deltaX[ordinal()], deltaY[ordinal()]);
+	public static Direction byOrdinal(int ordinal) {
+		return directions[ordinal];
 	}
 
 	public boolean isHorizontal() {
@@ -41,6 +43,6 @@ public enum Direction {
 	public Direction plus(int rotations) {
 		rotations = ((rotations % 4) + 4) % 4;
 		int index = (ordinal() - 1 + rotations) % 4 + 1;
-		return Direction.values()[index];
+		return directions[index];
 	}
 }
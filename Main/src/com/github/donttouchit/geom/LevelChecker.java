@@ -2,42 +2,131 @@ package com.github.donttouchit.geom;
 
 import com.github.donttouchit.game.Level;
 
-import java.util.ArrayDeque;
 import java.util.Arrays;
-import java.util.Queue;
 
+/**
+ * Checks the way from the enter point to the exit one.
+ * Buffers are kept between calls and grow only with the board, so repeated checks allocate nothing.
+ * Cells are encoded as {@code row * columns + column}.
+ */
 public class LevelChecker {
-	private int[][] distance;
-	private GridPoint[][] prev;
-	private Queue<GridPoint> queue;
+	private static final int[] deltaColumn = {0, 1, 0, -1};
+	private static final int[] deltaRow = {1, 0, -1, 0};
+
+	private BitBoard free;
+	private BitBoard reached;
+
+	private int[] visited = new int[0];
+	private int[] prev = new int[0];
+	private int[] queue = new int[0];
+	private int stamp = 0;
+	private int columns;
+	private int enterCell = -1;
+	private int exitCell = -1;
+	private int exitDistance = -1;
 
 	public boolean checkExitWay(Level level) {
-		distance = new int[level.getColumns()][level.getRows()];
-		prev = new GridPoint[level.getColumns()][level.getRows()];
-		queue = new ArrayDeque<GridPoint>();
+		return checkExitWay(level.getWalls(), level.getBlockers(), level.getEnterPoint(), level.getExitPoint());
+	}
+
+	public boolean checkExitWay(BitBoard walls, BitBoard blockers, GridPoint enter, GridPoint exit) {
+		if (free == null || free.getColumns() != walls.getColumns() || free.getRows() != walls.getRows()) {
+			free = new BitBoard(walls.getColumns(), walls.getRows());
+			reached = new BitBoard(walls.getColumns(), walls.getRows());
+		}
+
+		free.set(walls);
+		free.or(blockers);
+		free.not();
+		free.set(exit.x, exit.y, true);
 
-		for (int index = 0; index < level.getColumns(); ++index) {
-			Arrays.fill(distance[index], -1);
-			Arrays.fill(prev[index], new GridPoint(-1, -1));
+		reached.clear();
+		reached.set(enter.x, enter.y, true);
+		reached.floodFill(free);
+
+		return reached.get(exit.x, exit.y);
+	}
+
+	/**
+	 * Runs a BFS from the enter point and returns the length of the shortest way to the exit, or -1.
+	 * The way itself can be taken with {@link #getExitPath()} afterwards.
+	 */
+	public int findExitWay(Level level) {
+		columns = level.getColumns();
+		int cells = columns * level.getRows();
+		if (visited.length < cells) {
+			visited = new int[cells];
+			prev = new int[cells];
+			queue = new int[cells];
+			stamp = 0;
 		}
+		if (++stamp == Integer.MAX_VALUE) {
+			Arrays.fill(visited, 0);
+			stamp = 1;
+		}
+
+		GridPoint enter = level.getEnterPoint(), exit = level.getExitPoint();
+		enterCell = enter.y * columns + enter.x;
+		exitCell = exit.y * columns + exit.x;
+		exitDistance = -1;
 
-		GridPoint enter = level.getEnterPoint();
-		distance[enter.x][enter.y] = 0;
-		queue.add(enter);
+		// Every cell is queued at most once, so the queue never wraps around.
+		int head = 0, tail = 0;
+		visited[enterCell] = stamp;
+		prev[enterCell] = -1;
+		queue[tail++] = enterCell;
 
-		while (!queue.isEmpty()) {
-			GridPoint p = queue.poll();
+		while (head < tail) {
+			int cell = queue[head++];
+			if (cell == exitCell) {
+				break;
+			}
+			int column = cell % columns, row = cell / columns;
 			for (int index = 0; index < 4; ++index) {
-				Direction direction = Direction.values()[index + 1];
-				GridPoint np = new GridPoint(p.x + direction.getPoint().x, p.y + direction.getPoint().y);
-				if ((level.isEmpty(np.x, np.y) || np.equals(level.getExitPoint())) && distance[np.x][np.y] == -1) {
-					distance[np.x][np.y] = distance[p.x][p.y] + 1;
-					prev[np.x][np.y] = new GridPoint(p);
-					queue.add(np);
+				int nextColumn = column + deltaColumn[index], nextRow = row + deltaRow[index];
+				if (!level.isOnBoard(nextColumn, nextRow)) {
+					continue;
 				}
+				int next = nextRow * columns + nextColumn;
+				if (visited[next] != stamp && (next == exitCell || level.isEmpty(nextColumn, nextRow))) {
+					visited[next] = stamp;
+					prev[next] = cell;
+					queue[tail++] = next;
+				}
+			}
+		}
+
+		if (visited[exitCell] == stamp) {
+			exitDistance = 0;
+			for (int cell = exitCell; cell != enterCell; cell = prev[cell]) {
+				++exitDistance;
 			}
 		}
+		return exitDistance;
+	}
+
+	/**
+	 * Returns the cells of the way found by the last {@link #findExitWay(Level)}, from the enter point to the exit one,
+	 * or null if there is no way.
+	 */
+	public int[] getExitPath() {
+		if (exitDistance < 0) {
+			return null;
+		}
+		int[] path = new int[exitDistance + 1];
+		int cell = exitCell;
+		for (int index = exitDistance; index >= 0; --index) {
+			path[index] = cell;
+			cell = prev[cell];
+		}
+		return path;
+	}
+
+	public int getColumn(int cell) {
+		return cell % columns;
+	}
 
-		return distance[level.getExitPoint().x][level.getExitPoint().y] != -1;
+	public int getRow(int cell) {
+		return cell / columns;
 	}
 }
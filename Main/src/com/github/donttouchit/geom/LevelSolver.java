@@ -0,0 +1,298 @@
+package com.github.donttouchit.geom;
+
+import com.github.donttouchit.game.Ball;
+import com.github.donttouchit.game.Level;
+import com.github.donttouchit.game.LevelObject;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Breadth-first search over the real game states of a level: ball positions, arrow directions,
+ * wall and plate flags and light ball health. A level is solved when the exit way is open.
+ * Moves are simulated on a private copy of the level one cell per step.
+ */
+public class LevelSolver {
+	private static final Direction[] moveDirections = {Direction.TOP, Direction.RIGHT, Direction.BOTTOM, Direction.LEFT};
+	private static final int NO_PARENT = -1;
+	private static final long ZOBRIST_SEED = 0x5DEECE66DL;
+
+	public static class Move {
+		private final int column, row;
+		private final Direction direction;
+
+		public Move(int column, int row, Direction direction) {
+			this.column = column;
+			this.row = row;
+			this.direction = direction;
+		}
+
+		public int getColumn() {
+			return column;
+		}
+
+		public int getRow() {
+			return row;
+		}
+
+		public Direction getDirection() {
+			return direction;
+		}
+
+		@Override
+		public String toString() {
+			return column + " " + row + " " + direction;
+		}
+	}
+
+	public static class Solution {
+		private final boolean solved;
+		private final boolean complete;
+		private final List<Move> moves;
+		private final int exploredStates;
+
+		private Solution(boolean solved, boolean complete, List<Move> moves, int exploredStates) {
+			this.solved = solved;
+			this.complete = complete;
+			this.moves = moves;
+			this.exploredStates = exploredStates;
+		}
+
+		public boolean isSolved() {
+			return solved;
+		}
+
+		/**
+		 * Returns true if the search was not cut by the time limit, so an unsolved result proves there is no solution.
+		 */
+		public boolean isComplete() {
+			return complete;
+		}
+
+		public List<Move> getMoves() {
+			return moves;
+		}
+
+		public int getExploredStates() {
+			return exploredStates;
+		}
+	}
+
+	private final Level level;
+	private final LevelChecker levelChecker = new LevelChecker();
+	private final int[] ballIndices;
+	private final int stateSize;
+	private final long[][] zobrist;
+
+	private int[] states;
+	private long[] hashes;
+	private int[] parents;
+	private int[] moves;
+	private int stateCount;
+	private int[] table;
+
+	private int[] current;
+	private int[] next;
+
+	public LevelSolver(Level level) {
+		this.level = new Level(level.getSpecification());
+
+		List<LevelObject> levelObjects = this.level.getLevelObjects();
+		stateSize = levelObjects.size();
+		List<Integer> balls = new ArrayList<Integer>();
+		for (int index = 0; index < stateSize; ++index) {
+			if (levelObjects.get(index) instanceof Ball) {
+				balls.add(index);
+			}
+		}
+		ballIndices = new int[balls.size()];
+		for (int index = 0; index < ballIndices.length; ++index) {
+			ballIndices[index] = balls.get(index);
+		}
+
+		Random random = new Random(ZOBRIST_SEED);
+		zobrist = new long[stateSize * 4][256];
+		for (long[] keys : zobrist) {
+			for (int index = 0; index < keys.length; ++index) {
+				keys[index] = random.nextLong();
+			}
+		}
+	}
+
+	public Solution solve(long timeLimitMillis) {
+		long deadline = System.currentTimeMillis() + timeLimitMillis;
+		reset();
+
+		current = level.saveState(null);
+		next = new int[stateSize];
+		int initial = addState(current, hash(current), NO_PARENT, 0);
+		if (levelChecker.checkExitWay(level)) {
+			return solution(initial);
+		}
+
+		for (int head = 0; head < stateCount; ++head) {
+			if ((head & 0xFF) == 0 && System.currentTimeMillis() > deadline) {
+				level.restoreState(getState(0, current));
+				return new Solution(false, false, Collections.<Move>emptyList(), stateCount);
+			}
+			getState(head, current);
+			for (int ball = 0; ball < ballIndices.length; ++ball) {
+				for (int direction = 0; direction < moveDirections.length; ++direction) {
+					level.restoreState(current);
+					if (!simulate((Ball) level.getLevelObjects().get(ballIndices[ball]), moveDirections[direction])) {
+						continue;
+					}
+					level.saveState(next);
+					long hash = hashes[head];
+					for (int index = 0; index < stateSize; ++index) {
+						if (next[index] != current[index]) {
+							hash ^= key(index, current[index]) ^ key(index, next[index]);
+						}
+					}
+					if (findState(next, hash) != NO_PARENT) {
+						continue;
+					}
+					int state = addState(next, hash, head, ball * moveDirections.length + direction);
+					if (levelChecker.checkExitWay(level)) {
+						Solution solution = solution(state);
+						level.restoreState(getState(0, current));
+						return solution;
+					}
+				}
+			}
+		}
+
+		level.restoreState(getState(0, current));
+		return new Solution(false, true, Collections.<Move>emptyList(), stateCount);
+	}
+
+	private boolean simulate(Ball ball, Direction direction) {
+		ball.move(direction);
+		if (ball.getMoveDirection() == Direction.NONE) {
+			return false;
+		}
+		float delta = 1 / ball.getSpeedInCells();
+		int limit = 16 * level.getColumns() * level.getRows() + 16;
+		for (int step = 0; step < limit; ++step) {
+			level.step(delta);
+			if (ball.getMoveDirection() == Direction.NONE) {
+				// Let the walls react to the final position, as they would in the next frames.
+				level.step(delta);
+				return true;
+			}
+		}
+		// The ball goes round in circles and never stops.
+		return false;
+	}
+
+	private Solution solution(int state) {
+		List<Move> path = new ArrayList<Move>();
+		int[] parentState = new int[stateSize];
+		for (; parents[state] != NO_PARENT; state = parents[state]) {
+			getState(parents[state], parentState);
+			int ball = ballIndices[moves[state] / moveDirections.length];
+			int column = parentState[ball] >>> 20, row = (parentState[ball] >>> 8) & 0xFFF;
+			path.add(new Move(column, row, moveDirections[moves[state] % moveDirections.length]));
+		}
+		Collections.reverse(path);
+		return new Solution(true, true, path, stateCount);
+	}
+
+	private void reset() {
+		int capacity = 1024;
+		states = new int[capacity * stateSize];
+		hashes = new long[capacity];
+		parents = new int[capacity];
+		moves = new int[capacity];
+		table = new int[capacity * 2];
+		stateCount = 0;
+	}
+
+	private long key(int index, int value) {
+		int base = index * 4;
+		return zobrist[base][value & 0xFF]
+				^ zobrist[base + 1][(value >>> 8) & 0xFF]
+				^ zobrist[base + 2][(value >>> 16) & 0xFF]
+				^ zobrist[base + 3][value >>> 24];
+	}
+
+	private long hash(int[] state) {
+		long hash = 0;
+		for (int index = 0; index < stateSize; ++index) {
+			hash ^= key(index, state[index]);
+		}
+		return hash;
+	}
+
+	private int[] getState(int state, int[] target) {
+		System.arraycopy(states, state * stateSize, target, 0, stateSize);
+		return target;
+	}
+
+	private int findState(int[] state, long hash) {
+		int mask = table.length - 1;
+		for (int slot = (int) (hash ^ (hash >>> 32)) & mask; table[slot] != 0; slot = (slot + 1) & mask) {
+			int candidate = table[slot] - 1;
+			if (hashes[candidate] == hash && sameState(candidate, state)) {
+				return candidate;
+			}
+		}
+		return NO_PARENT;
+	}
+
+	private boolean sameState(int candidate, int[] state) {
+		int offset = candidate * stateSize;
+		for (int index = 0; index < stateSize; ++index) {
+			if (states[offset + index] != state[index]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private int addState(int[] state, long hash, int parent, int move) {
+		if (stateCount == hashes.length) {
+			int capacity = hashes.length * 2;
+			int[] newStates = new int[capacity * stateSize];
+			System.arraycopy(states, 0, newStates, 0, states.length);
+			states = newStates;
+			long[] newHashes = new long[capacity];
+			System.arraycopy(hashes, 0, newHashes, 0, hashes.length);
+			hashes = newHashes;
+			int[] newParents = new int[capacity];
+			System.arraycopy(parents, 0, newParents, 0, parents.length);
+			parents = newParents;
+			int[] newMoves = new int[capacity];
+			System.arraycopy(moves, 0, newMoves, 0, moves.length);
+			moves = newMoves;
+			rehash(capacity * 2);
+		}
+
+		int index = stateCount++;
+		System.arraycopy(state, 0, states, index * stateSize, stateSize);
+		hashes[index] = hash;
+		parents[index] = parent;
+		moves[index] = move;
+		insert(index);
+		return index;
+	}
+
+	private void rehash(int size) {
+		table = new int[size];
+		for (int index = 0; index < stateCount; ++index) {
+			insert(index);
+		}
+	}
+
+	private void insert(int index) {
+		int mask = table.length - 1;
+		long hash = hashes[index];
+		int slot = (int) (hash ^ (hash >>> 32)) & mask;
+		while (table[slot] != 0) {
+			slot = (slot + 1) & mask;
+		}
+		table[slot] = index + 1;
+	}
+}
@@ -0,0 +1,314 @@
+package com.github.donttouchit.geom;
+
+import java.util.Arrays;
+
+/**
+ * Labels the connected regions of open cells and keeps the labels up to date while single cells open and close.
+ * Opening a cell joins the regions around it by relabeling the smaller ones.
+ * Closing a cell runs searches from its neighbours one step at a time, so the work stops as soon as
+ * the neighbours are known to be still connected, or a cut off part is walked through; only that part is relabeled.
+ * Cells are encoded as {@code row * columns + column}, a closed cell has the label 0.
+ */
+public class RegionLabeling {
+	private static final int[] deltaColumn = {0, 1, 0, -1};
+	private static final int[] deltaRow = {1, 0, -1, 0};
+
+	private final int columns, rows;
+	private final int[] labels;
+	private final int[] sizes;
+	private final int[] freeLabels;
+	private int freeLabelCount = 0;
+
+	// Searches of a split, one for every neighbour of the closed cell.
+	private final int[][] queues = new int[4][];
+	private final int[] heads = new int[4];
+	private final int[] tails = new int[4];
+	private final int[] groups = new int[4];
+	private final int[] visited;
+	private final int[] visitedBy;
+	private int stamp = 0;
+	private final int[] neighbours = new int[4];
+
+	public RegionLabeling(int columns, int rows) {
+		this.columns = columns;
+		this.rows = rows;
+		int cells = columns * rows;
+		labels = new int[cells];
+		sizes = new int[cells + 1];
+		freeLabels = new int[cells];
+		for (int label = cells; label > 0; --label) {
+			freeLabels[freeLabelCount++] = label;
+		}
+		for (int search = 0; search < queues.length; ++search) {
+			queues[search] = new int[cells];
+		}
+		visited = new int[cells];
+		visitedBy = new int[cells];
+	}
+
+	public int getColumns() {
+		return columns;
+	}
+
+	public int getRows() {
+		return rows;
+	}
+
+	/**
+	 * Labels every cell from scratch, a cell is open if it is neither a wall nor blocked.
+	 */
+	public void build(BitBoard walls, BitBoard blockers) {
+		Arrays.fill(labels, 0);
+		Arrays.fill(sizes, 0);
+		freeLabelCount = 0;
+		for (int label = labels.length; label > 0; --label) {
+			freeLabels[freeLabelCount++] = label;
+		}
+
+		int[] queue = queues[0];
+		for (int row = 0; row < rows; ++row) {
+			for (int column = 0; column < columns; ++column) {
+				int cell = row * columns + column;
+				if (labels[cell] != 0 || walls.isAnySet(blockers, column, row)) {
+					continue;
+				}
+				int label = freeLabels[--freeLabelCount];
+				labels[cell] = label;
+				int head = 0, tail = 0;
+				queue[tail++] = cell;
+				while (head < tail) {
+					int current = queue[head++];
+					int currentColumn = current % columns, currentRow = current / columns;
+					for (int direction = 0; direction < 4; ++direction) {
+						int nextColumn = currentColumn + deltaColumn[direction], nextRow = currentRow + deltaRow[direction];
+						if (nextColumn < 0 || nextRow < 0 || nextColumn >= columns || nextRow >= rows) {
+							continue;
+						}
+						int next = nextRow * columns + nextColumn;
+						if (labels[next] == 0 && !walls.isAnySet(blockers, nextColumn, nextRow)) {
+							labels[next] = label;
+							queue[tail++] = next;
+						}
+					}
+				}
+				sizes[label] = tail;
+			}
+		}
+	}
+
+	public boolean isOpen(int column, int row) {
+		return labels[row * columns + column] != 0;
+	}
+
+	public int getLabel(int column, int row) {
+		return labels[row * columns + column];
+	}
+
+	public int getRegionSize(int label) {
+		return label == 0 ? 0 : sizes[label];
+	}
+
+	public void setOpen(int column, int row, boolean open) {
+		if (open) {
+			open(row * columns + column);
+		} else {
+			close(row * columns + column);
+		}
+	}
+
+	private int collectNeighbours(int cell) {
+		int column = cell % columns, row = cell / columns;
+		int count = 0;
+		for (int direction = 0; direction < 4; ++direction) {
+			int nextColumn = column + deltaColumn[direction], nextRow = row + deltaRow[direction];
+			if (nextColumn >= 0 && nextRow >= 0 && nextColumn < columns && nextRow < rows) {
+				int next = nextRow * columns + nextColumn;
+				if (labels[next] != 0) {
+					neighbours[count++] = next;
+				}
+			}
+		}
+		return count;
+	}
+
+	private void open(int cell) {
+		if (labels[cell] != 0) {
+			return;
+		}
+		int count = collectNeighbours(cell);
+		int label = 0;
+		for (int index = 0; index < count; ++index) {
+			int neighbourLabel = labels[neighbours[index]];
+			if (label == 0 || sizes[neighbourLabel] > sizes[label]) {
+				label = neighbourLabel;
+			}
+		}
+		if (label == 0) {
+			label = freeLabels[--freeLabelCount];
+		}
+		labels[cell] = label;
+		++sizes[label];
+
+		for (int index = 0; index < count; ++index) {
+			int neighbourLabel = labels[neighbours[index]];
+			if (neighbourLabel != label) {
+				sizes[label] += sizes[neighbourLabel];
+				relabel(neighbours[index], neighbourLabel, label);
+				sizes[neighbourLabel] = 0;
+				freeLabels[freeLabelCount++] = neighbourLabel;
+			}
+		}
+	}
+
+	/**
+	 * Gives the new label to the region of the old one containing the cell.
+	 */
+	private void relabel(int cell, int oldLabel, int newLabel) {
+		int[] queue = queues[0];
+		int head = 0, tail = 0;
+		labels[cell] = newLabel;
+		queue[tail++] = cell;
+		while (head < tail) {
+			int current = queue[head++];
+			int currentColumn = current % columns, currentRow = current / columns;
+			for (int direction = 0; direction < 4; ++direction) {
+				int nextColumn = currentColumn + deltaColumn[direction], nextRow = currentRow + deltaRow[direction];
+				if (nextColumn < 0 || nextRow < 0 || nextColumn >= columns || nextRow >= rows) {
+					continue;
+				}
+				int next = nextRow * columns + nextColumn;
+				if (labels[next] == oldLabel) {
+					labels[next] = newLabel;
+					queue[tail++] = next;
+				}
+			}
+		}
+	}
+
+	private int findGroup(int search) {
+		while (groups[search] != search) {
+			search = groups[search];
+		}
+		return search;
+	}
+
+	private boolean isGroupFinished(int group, int count) {
+		for (int search = 0; search < count; ++search) {
+			if (findGroup(search) == group && heads[search] < tails[search]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private void close(int cell) {
+		int label = labels[cell];
+		if (label == 0) {
+			return;
+		}
+		labels[cell] = 0;
+		if (--sizes[label] == 0) {
+			freeLabels[freeLabelCount++] = label;
+			return;
+		}
+		int count = collectNeighbours(cell);
+		if (count <= 1) {
+			return;
+		}
+
+		++stamp;
+		for (int search = 0; search < count; ++search) {
+			heads[search] = 0;
+			tails[search] = 0;
+			groups[search] = search;
+			queues[search][tails[search]++] = neighbours[search];
+			visited[neighbours[search]] = stamp;
+			visitedBy[neighbours[search]] = search;
+		}
+
+		// Step the searches in turn until at most one group of them still has cells to visit.
+		int unfinished = count;
+		while (unfinished > 1) {
+			for (int search = 0; search < count; ++search) {
+				if (heads[search] == tails[search]) {
+					continue;
+				}
+				int current = queues[search][heads[search]++];
+				int currentColumn = current % columns, currentRow = current / columns;
+				for (int direction = 0; direction < 4; ++direction) {
+					int nextColumn = currentColumn + deltaColumn[direction], nextRow = currentRow + deltaRow[direction];
+					if (nextColumn < 0 || nextRow < 0 || nextColumn >= columns || nextRow >= rows) {
+						continue;
+					}
+					int next = nextRow * columns + nextColumn;
+					if (labels[next] == 0) {
+						continue;
+					}
+					if (visited[next] != stamp) {
+						visited[next] = stamp;
+						visitedBy[next] = search;
+						queues[search][tails[search]++] = next;
+					} else {
+						int group = findGroup(search), otherGroup = findGroup(visitedBy[next]);
+						if (group != otherGroup) {
+							groups[Math.max(group, otherGroup)] = Math.min(group, otherGroup);
+						}
+					}
+				}
+			}
+
+			unfinished = 0;
+			for (int search = 0; search < count; ++search) {
+				if (findGroup(search) == search && !isGroupFinished(search, count)) {
+					++unfinished;
+				}
+			}
+		}
+
+		// The group still walking keeps the label, or the largest one if all of them are done.
+		int keeper = -1;
+		int keeperSize = -1;
+		for (int search = 0; search < count; ++search) {
+			if (findGroup(search) != search) {
+				continue;
+			}
+			if (!isGroupFinished(search, count)) {
+				keeper = search;
+				break;
+			}
+			int size = groupSize(search, count);
+			if (size > keeperSize) {
+				keeper = search;
+				keeperSize = size;
+			}
+		}
+
+		for (int group = 0; group < count; ++group) {
+			if (findGroup(group) != group || group == keeper) {
+				continue;
+			}
+			int newLabel = freeLabels[--freeLabelCount];
+			int size = 0;
+			for (int search = 0; search < count; ++search) {
+				if (findGroup(search) == group) {
+					for (int index = 0; index < tails[search]; ++index) {
+						labels[queues[search][index]] = newLabel;
+					}
+					size += tails[search];
+				}
+			}
+			sizes[newLabel] = size;
+			sizes[label] -= size;
+		}
+	}
+
+	private int groupSize(int group, int count) {
+		int size = 0;
+		for (int search = 0; search < count; ++search) {
+			if (findGroup(search) == group) {
+				size += tails[search];
+			}
+		}
+		return size;
+	}
+}
@@ -2,10 +2,20 @@ package com.github.donttouchit.screen;
 
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Screen;
+import com.badlogic.gdx.scenes.scene2d.Stage;
 import com.github.donttouchit.DontTouchIt;
+import com.github.donttouchit.game.Level;
+import com.github.donttouchit.game.view.Board;
+import com.github.donttouchit.game.view.ShapeBatch;
+import com.github.donttouchit.utils.FrameMetrics;
+import com.github.donttouchit.utils.RenderStats;
 
 public abstract class BasicScreen implements Screen {
+	// Frames drawn after everything has stopped, so the final positions get on the screen.
+	private static final int IDLE_FRAMES = 2;
+
 	private final DontTouchIt game;
+	private int idleFrames = 0;
 
 	public BasicScreen(DontTouchIt game) {
 		this.game = game;
@@ -21,11 +31,60 @@ public abstract class BasicScreen implements Screen {
 	protected void update(float delta) {
 	}
 
+	/**
+	 * Draws the tiles of the boards, the stage and the shapes queued by its actors,
+	 * and counts its draw calls and actors in {@link FrameMetrics}.
+	 */
+	protected void drawStage(Stage stage) {
+		int totalRenderCalls = stage.getSpriteBatch().totalRenderCalls;
+		Board.drawTiles(stage);
+		stage.draw();
+		ShapeBatch.flushStage(stage.getSpriteBatch());
+		FrameMetrics.stageDrawn(stage, totalRenderCalls);
+	}
+
+	/**
+	 * Returns the level played or edited on the screen, if any, for the listener dispatch metrics.
+	 */
+	protected Level getActiveLevel() {
+		return null;
+	}
+
+	/**
+	 * Returns true while the screen changes without any input. Otherwise frames are rendered only on input.
+	 */
+	protected boolean isAnimating() {
+		return false;
+	}
 
 	@Override
 	public void render(float delta) {
+		long startTime = System.nanoTime();
+		if (!Gdx.graphics.isContinuousRendering()) {
+			// The frame is requested by input after a pause, which is not game time.
+			delta = 0;
+		}
+		FrameMetrics.beginFrame(getClass().getSimpleName());
+		PerformanceHud.handleInput();
 		update(delta);
+		FrameMetrics.updated();
 		draw();
+		FrameMetrics.endFrame(getActiveLevel());
+		PerformanceHud.draw();
+		updateRenderingMode();
+		RenderStats.frameRendered(startTime, System.nanoTime());
+	}
+
+	private void updateRenderingMode() {
+		if (isAnimating()) {
+			idleFrames = 0;
+		} else if (idleFrames < IDLE_FRAMES) {
+			++idleFrames;
+		}
+		boolean continuous = idleFrames < IDLE_FRAMES;
+		if (Gdx.graphics.isContinuousRendering() != continuous) {
+			Gdx.graphics.setContinuousRendering(continuous);
+		}
 	}
 
 	@Override
@@ -35,6 +94,8 @@ public abstract class BasicScreen implements Screen {
 	@Override
 	public void show() {
 		Gdx.app.log(getClass().getSimpleName(), "showing");
+		idleFrames = 0;
+		Gdx.graphics.requestRendering();
 	}
 
 	@Override
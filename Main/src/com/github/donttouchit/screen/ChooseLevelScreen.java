@@ -11,6 +11,8 @@ import com.badlogic.gdx.scenes.scene2d.utils.ClickListener;
 import com.github.donttouchit.DontTouchIt;
 import com.github.donttouchit.utils.FileUtils;
 import com.github.donttouchit.utils.FontUtils;
+import com.github.donttouchit.utils.LevelLoader;
+import com.github.donttouchit.utils.LevelPack;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -51,18 +53,23 @@ public class ChooseLevelScreen extends BasicScreen {
 		Gdx.input.setInputProcessor(stage);
 		buttonGroup.clearChildren();
 		levelButtons.clear();
-		ArrayList <String> levelFileNames = FileUtils.getLevelsList("./");
-		for(final String filename: levelFileNames) {
-			TextButton levelButton = new TextButton(filename, FontUtils.style);
+		final List<LevelLoader.Source> sources = new ArrayList<LevelLoader.Source>();
+		for (LevelPack pack : FileUtils.getLevelPacks("./")) {
+			for (LevelPack.Entry entry : pack.getEntries()) {
+				sources.add(LevelLoader.fromPack(pack, entry));
+			}
+		}
+		for (String filename : FileUtils.getLevelsList("./")) {
+			sources.add(LevelLoader.fromFile(filename));
+		}
+
+		for (int index = 0; index < sources.size(); ++index) {
+			final int levelIndex = index;
+			TextButton levelButton = new TextButton(sources.get(index).getName(), FontUtils.style);
 			levelButton.addListener(new ClickListener() {
 				@Override
 				public void clicked(InputEvent event, float x, float y) {
-					try {
-						getGame().getGameScreen().setLevel(FileUtils.loadLevel(filename));
-						getGame().setScreen(getGame().getGameScreen());
-					} catch (Exception e) {
-						e.printStackTrace();
-					}
+					getGame().getGameScreen().loadLevel(sources, levelIndex);
 				}
 			});
 			levelButtons.add(levelButton);
@@ -81,7 +88,7 @@ public class ChooseLevelScreen extends BasicScreen {
 	protected void draw() {
 		super.draw();
 		Gdx.gl.glClear(GL10.GL_COLOR_BUFFER_BIT);
-		stage.draw();
+		drawStage(stage);
 	}
 
 	@Override
@@ -2,30 +2,47 @@ package com.github.donttouchit.screen;
 
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.graphics.GL10;
-import com.badlogic.gdx.graphics.Texture;
-import com.badlogic.gdx.graphics.g2d.Sprite;
 import com.badlogic.gdx.scenes.scene2d.InputEvent;
 import com.badlogic.gdx.scenes.scene2d.Stage;
 import com.badlogic.gdx.scenes.scene2d.ui.ImageButton;
 import com.badlogic.gdx.scenes.scene2d.ui.TextButton;
 import com.badlogic.gdx.scenes.scene2d.utils.ClickListener;
-import com.badlogic.gdx.scenes.scene2d.utils.SpriteDrawable;
+import com.badlogic.gdx.scenes.scene2d.utils.TextureRegionDrawable;
 import com.github.donttouchit.DontTouchIt;
 import com.github.donttouchit.game.Level;
+import com.github.donttouchit.game.LevelHistory;
+import com.github.donttouchit.game.view.LevelView;
+import com.github.donttouchit.utils.Assets;
 import com.github.donttouchit.utils.FontUtils;
+import com.github.donttouchit.utils.LevelLoader;
+
+import java.util.List;
 
 public class GameScreen extends BasicScreen {
 	private Stage stage;
 	private Level level;
-	private Level.Specification levelSpecification;
+	private LevelView levelView;
+	private int[] initialState;
 	private ImageButton restart;
 	private TextButton back = new TextButton("M", FontUtils.style);
+	private TextButton next = new TextButton(">", FontUtils.style);
+	private TextButton undo = new TextButton("U", FontUtils.style);
+	private TextButton redo = new TextButton("R", FontUtils.style);
+	private LevelHistory history;
+	private List<LevelLoader.Source> levelSources;
+	private int levelIndex;
+	private LevelLoader.Source loadingSource;
+	// The callback of the latest load, the others are stale.
+	private LevelLoader.Callback loading;
 
 	@Override
 	public void resize(int width, int height) {
 		stage.setViewport(width, height, true);
 		restart.setPosition(10, Gdx.graphics.getHeight() - 10 - restart.getHeight());
 		back.setPosition(10, Gdx.graphics.getHeight() - 10 - restart.getHeight() - 64);
+		next.setPosition(10, Gdx.graphics.getHeight() - 10 - restart.getHeight() - 128);
+		undo.setPosition(10, Gdx.graphics.getHeight() - 10 - restart.getHeight() - 192);
+		redo.setPosition(10, Gdx.graphics.getHeight() - 10 - restart.getHeight() - 256);
 	}
 
 	@Override
@@ -43,18 +60,23 @@ public class GameScreen extends BasicScreen {
 		super(game);
 		stage = new Stage();
 
-		SpriteDrawable sprite = new SpriteDrawable(new Sprite(new Texture("resources/restart.png")));
-		restart = new ImageButton(sprite);
+		restart = new ImageButton(new TextureRegionDrawable(Assets.getRegion(Assets.RESTART)));
 		restart.pack();
 		restart.addListener(new ClickListener() {
 			@Override
 			public void clicked(InputEvent event, float x, float y) {
 				super.clicked(event, x, y);
 				Gdx.app.log("Restart button", "Clicked");
-				try {
-					setLevel(new Level(levelSpecification));
-				} catch (Exception e) {
-					e.printStackTrace();
+				if (level != null) {
+					// The objects and their views stay, only their state goes back.
+					// The restart is recorded as a move of its own, so it can be undone.
+					// A move cut off by it is not recorded: its balls were never stopped where they are now,
+					// so undoing the restart goes back to where that move started.
+					if (!level.isInAction()) {
+						history.record();
+					}
+					level.restoreState(initialState);
+					history.record();
 				}
 			}
 		});
@@ -65,22 +87,108 @@ public class GameScreen extends BasicScreen {
 				getGame().setScreen(getGame().getChooseLevelScreen());
 			}
 		});
+
+		undo.addListener(new ClickListener() {
+			@Override
+			public void clicked(InputEvent event, float x, float y) {
+				if (history != null) {
+					history.undo();
+				}
+			}
+		});
+
+		redo.addListener(new ClickListener() {
+			@Override
+			public void clicked(InputEvent event, float x, float y) {
+				if (history != null) {
+					history.redo();
+				}
+			}
+		});
+
+		next.addListener(new ClickListener() {
+			@Override
+			public void clicked(InputEvent event, float x, float y) {
+				if (levelSources != null && levelIndex + 1 < levelSources.size()) {
+					loadLevel(levelSources, levelIndex + 1);
+				}
+			}
+		});
+	}
+
+	/**
+	 * Loads the level with the given index in the background and shows it when it is ready.
+	 * While it is played, the next level of the list is prefetched.
+	 */
+	public void loadLevel(final List<LevelLoader.Source> sources, final int index) {
+		LevelLoader.Source source = sources.get(index);
+		if (loading != null && sources == levelSources && source.equals(loadingSource)) {
+			return;
+		}
+		levelSources = sources;
+		loadingSource = source;
+		loading = new LevelLoader.Callback() {
+			@Override
+			public void loaded(Level level) {
+				if (loading != this) {
+					// Another level was chosen while this one was loading.
+					return;
+				}
+				loading = null;
+				loadingSource = null;
+				levelIndex = index;
+				setLevel(level);
+				if (getGame().getScreen() != GameScreen.this) {
+					getGame().setScreen(GameScreen.this);
+				}
+				if (index + 1 < sources.size()) {
+					LevelLoader.prefetch(sources.get(index + 1));
+				}
+			}
+
+			@Override
+			public void failed(Exception e) {
+				if (loading == this) {
+					loading = null;
+					loadingSource = null;
+				}
+				Gdx.app.error("Level loading", "Can not load " + sources.get(index).getName(), e);
+			}
+		};
+		LevelLoader.load(source, loading);
 	}
 
 	public void setLevel(Level level) {
 		stage.clear();
 		this.level = level;
-		levelSpecification = level.getSpecification();
-		stage.addActor(level.getGroup());
+		levelView = new LevelView(level);
+		initialState = level.saveState(null);
+		history = new LevelHistory(level);
+		stage.addActor(levelView);
 		stage.addActor(restart);
 		stage.addActor(back);
+		stage.addActor(undo);
+		stage.addActor(redo);
+		if (levelSources != null && levelIndex + 1 < levelSources.size()) {
+			stage.addActor(next);
+		}
 	}
 
 	@Override
 	protected void draw() {
 		super.draw();
 		Gdx.gl.glClear(GL10.GL_COLOR_BUFFER_BIT);
-        stage.draw();
+		drawStage(stage);
+	}
+
+	@Override
+	protected Level getActiveLevel() {
+		return level;
+	}
+
+	@Override
+	protected boolean isAnimating() {
+		return level != null && level.isAnimating();
 	}
 
 	@Override
@@ -96,7 +96,7 @@ public class MenuScreen extends BasicScreen {
 	protected void draw() {
 		super.draw();
 		Gdx.gl.glClear(GL10.GL_COLOR_BUFFER_BIT);
-		stage.draw();
+		drawStage(stage);
 	}
 
 	@Override
@@ -0,0 +1,92 @@
+package com.github.donttouchit.screen;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Input;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.github.donttouchit.utils.FontUtils;
+import com.github.donttouchit.utils.FrameMetrics;
+
+/**
+ * Overlay with the numbers of {@link FrameMetrics}, drawn by {@link BasicScreen} over every screen.
+ * F3 on desktop or the menu key on Android toggles it. The text is refreshed a few times a second,
+ * so the overlay itself costs one string and one batch call per frame.
+ */
+public class PerformanceHud {
+	private static final float REFRESH_PERIOD = 0.25f;
+	private static final float MARGIN = 8;
+
+	private static boolean visible = false;
+	private static boolean togglePressed = false;
+	private static SpriteBatch batch;
+	private static String text = "";
+	private static long lastRefresh = 0;
+
+	public static boolean isVisible() {
+		return visible;
+	}
+
+	public static void setVisible(boolean visible) {
+		PerformanceHud.visible = visible;
+		lastRefresh = 0;
+		Gdx.graphics.requestRendering();
+	}
+
+	static void handleInput() {
+		boolean pressed = Gdx.input.isKeyPressed(Input.Keys.F3) || Gdx.input.isKeyPressed(Input.Keys.MENU);
+		if (pressed && !togglePressed) {
+			setVisible(!visible);
+		}
+		togglePressed = pressed;
+	}
+
+	static void draw() {
+		if (!visible) {
+			return;
+		}
+		long now = System.nanoTime();
+		if (now - lastRefresh >= REFRESH_PERIOD * 1e9f) {
+			text = buildText();
+			lastRefresh = now;
+		}
+
+		if (batch == null) {
+			batch = new SpriteBatch();
+		}
+		batch.getProjectionMatrix().setToOrtho2D(0, 0, Gdx.graphics.getWidth(), Gdx.graphics.getHeight());
+		BitmapFont font = FontUtils.smallFont;
+		batch.begin();
+		font.setColor(Color.GREEN);
+		font.drawMultiLine(batch, text, MARGIN, Gdx.graphics.getHeight() - MARGIN);
+		font.setColor(Color.WHITE);
+		batch.end();
+	}
+
+	private static String buildText() {
+		return FrameMetrics.getScreenName()
+				+ "\nframe p50 " + format(FrameMetrics.getFrameTimePercentile(0.5f))
+				+ " p90 " + format(FrameMetrics.getFrameTimePercentile(0.9f))
+				+ " p99 " + format(FrameMetrics.getFrameTimePercentile(0.99f)) + " ms"
+				+ "\nupdate " + format(FrameMetrics.getUpdateTime())
+				+ " draw " + format(FrameMetrics.getDrawTime()) + " ms"
+				+ "\nbatch calls " + FrameMetrics.getBatchCalls()
+				+ " shape passes " + FrameMetrics.getShapePasses()
+				+ "\nactors " + FrameMetrics.getActors()
+				+ " dispatches/step " + format(FrameMetrics.getDispatchesPerStep())
+				+ "\nheap " + FrameMetrics.getHeapUsed() / 1024 + " KB"
+				+ " allocated " + FrameMetrics.getAllocated() / 1024 + " KB"
+				+ " GCs " + FrameMetrics.getCollections();
+	}
+
+	private static String format(float value) {
+		return Float.toString(Math.round(value * 100) / 100f);
+	}
+
+	public static void dispose() {
+		if (batch != null) {
+			batch.dispose();
+			batch = null;
+		}
+	}
+}
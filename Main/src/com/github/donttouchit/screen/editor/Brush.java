@@ -1,24 +1,23 @@
 package com.github.donttouchit.screen.editor;
 
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
-import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
 import com.badlogic.gdx.scenes.scene2d.utils.BaseDrawable;
 import com.github.donttouchit.game.LevelObject;
+import com.github.donttouchit.game.LevelObjectRegistry;
+import com.github.donttouchit.game.view.LevelObjectView;
+import com.github.donttouchit.game.view.LevelView;
+import com.github.donttouchit.game.view.ShapeBatch;
 
 import java.util.ArrayList;
 import java.util.List;
 
 public class Brush extends BaseDrawable {
-	private final ShapeRenderer shapeRenderer = new ShapeRenderer();
-
 	private final BrushType brushType;
 	private final LevelObject.Specification specification;
 	private final LevelObject levelObject;
+	private LevelObjectView levelObjectView;
 
 	private static final List<Brush> registeredBrushes = new ArrayList<Brush>();
-	public static void registerBrush(LevelObject.Specification specification) {
-		registeredBrushes.add(new Brush(BrushType.LEVEL_OBJECT, specification));
-	}
 
 	public static List<Brush> getRegisteredBrushes() {
 		return registeredBrushes;
@@ -26,6 +25,9 @@ public class Brush extends BaseDrawable {
 
 	static {
 		registeredBrushes.add(new Brush(BrushType.WALL, null));
+		for (LevelObjectRegistry.Factory<?> factory : LevelObjectRegistry.getFactories()) {
+			registeredBrushes.add(new Brush(BrushType.LEVEL_OBJECT, factory.createDefaultSpecification()));
+		}
 	}
 
 	public Brush(BrushType brushType, LevelObject.Specification specification) {
@@ -49,36 +51,34 @@ public class Brush extends BaseDrawable {
 		if (specification == null) {
 			return null;
 		}
-		return specification.createLevelObject();
+		return LevelObjectRegistry.create(specification);
 	}
 
 	@Override
 	public void draw(SpriteBatch batch, float x, float y, float width, float height) {
-		shapeRenderer.setProjectionMatrix(batch.getProjectionMatrix());
-		shapeRenderer.setTransformMatrix(batch.getTransformMatrix());
-		shapeRenderer.translate(x, y, 0);
+		ShapeBatch shapeBatch = ShapeBatch.get(batch);
+		shapeBatch.setOffset(x, y);
 
 		switch (brushType) {
 			case ERASER:
-				shapeRenderer.begin(ShapeRenderer.ShapeType.Line);
-				shapeRenderer.setColor(1, 0, 0, 1);
-				shapeRenderer.line(0, 0, width, height);
-				shapeRenderer.line(0, height, width, 0);
-				shapeRenderer.line(0, 0, width, 0);
-				shapeRenderer.line(width, 0, width, height);
-				shapeRenderer.line(width, height, 0, height);
-				shapeRenderer.line(0, height, 0, 0);
-				shapeRenderer.end();
+				shapeBatch.setColor(1, 0, 0, 1);
+				shapeBatch.line(0, 0, width, height);
+				shapeBatch.line(0, height, width, 0);
+				shapeBatch.line(0, 0, width, 0);
+				shapeBatch.line(width, 0, width, height);
+				shapeBatch.line(width, height, 0, height);
+				shapeBatch.line(0, height, 0, 0);
 				break;
 			case WALL:
-				shapeRenderer.begin(ShapeRenderer.ShapeType.Filled);
-				shapeRenderer.setColor(0.5f, 0.5f, 0.5f, 1);
-				shapeRenderer.rect(0, 0, width, height);
-				shapeRenderer.end();
+				shapeBatch.setColor(0.5f, 0.5f, 0.5f, 1);
+				shapeBatch.rect(0, 0, width, height);
 				break;
 			case LEVEL_OBJECT:
-				levelObject.setPosition(x, y);
-				levelObject.draw(batch, 1.0f);
+				if (levelObjectView == null) {
+					levelObjectView = LevelView.createView(levelObject);
+				}
+				levelObjectView.setPosition(x, y);
+				levelObjectView.draw(batch, 1.0f);
 				break;
 		}
 	}
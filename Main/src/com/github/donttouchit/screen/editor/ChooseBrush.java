@@ -8,12 +8,13 @@ import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.scenes.scene2d.InputEvent;
 import com.badlogic.gdx.scenes.scene2d.utils.ClickListener;
 import com.github.donttouchit.game.Level;
+import com.github.donttouchit.game.view.ShapeBatch;
+import com.github.donttouchit.game.view.ShapeSprites;
 import com.github.donttouchit.geom.GridPoint;
 
 import java.util.List;
 
 public abstract class ChooseBrush extends Grid {
-	private final ShapeRenderer shapeRenderer = new ShapeRenderer();
 	private final List<Brush> brushes;
 	private GridPoint requestBrushPosition = null;
 
@@ -39,25 +40,17 @@ public abstract class ChooseBrush extends Grid {
 
 	@Override
 	public void draw(SpriteBatch batch, float parentAlpha) {
-		batch.end();
+		// The background is a sprite, as the sprites of the brushes go over it.
+		batch.setColor(Color.YELLOW);
+		batch.draw(ShapeSprites.getSolid(), getX(), getY(), getWidth(), getHeight());
+		batch.setColor(Color.WHITE);
 
-		shapeRenderer.setProjectionMatrix(batch.getProjectionMatrix());
-		shapeRenderer.setTransformMatrix(batch.getTransformMatrix());
-		shapeRenderer.translate(getX(), getY(), 0);
-
-		shapeRenderer.begin(ShapeRenderer.ShapeType.Filled);
-		shapeRenderer.setColor(Color.YELLOW);
-		shapeRenderer.rect(0, 0, getWidth(), getHeight());
-		shapeRenderer.end();
-
-		Gdx.gl.glLineWidth(3.0f);
-		shapeRenderer.begin(ShapeRenderer.ShapeType.Line);
-		shapeRenderer.setColor(Color.ORANGE);
-		shapeRenderer.rect(0, 0, getWidth(), getHeight());
-		shapeRenderer.end();
-		Gdx.gl.glLineWidth(1.0f);
-
-		batch.begin();
+		ShapeBatch shapeBatch = ShapeBatch.get(batch);
+		shapeBatch.setOffset(getX(), getY());
+		shapeBatch.setType(ShapeRenderer.ShapeType.Line);
+		shapeBatch.setLineWidth(3.0f);
+		shapeBatch.setColor(Color.ORANGE);
+		shapeBatch.rect(0, 0, getWidth(), getHeight());
 
 		int index = 0;
 		for (Brush brush : brushes) {
@@ -10,10 +10,10 @@ import com.badlogic.gdx.scenes.scene2d.utils.ClickListener;
 import com.github.donttouchit.game.Level;
 import com.github.donttouchit.game.LevelObject;
 import com.github.donttouchit.game.properties.Dye;
+import com.github.donttouchit.game.view.ShapeBatch;
 import com.github.donttouchit.geom.GridPoint;
 
 public abstract class ChooseDye extends Grid {
-	private final ShapeRenderer shapeRenderer = new ShapeRenderer();
 	private LevelObject changingObject;
 
 	public ChooseDye() {
@@ -37,33 +37,24 @@ public abstract class ChooseDye extends Grid {
 
 	@Override
 	public void draw(SpriteBatch batch, float parentAlpha) {
-		batch.end();
+		ShapeBatch shapeBatch = ShapeBatch.get(batch);
+		shapeBatch.setOffset(getX(), getY());
+		shapeBatch.setColor(Color.YELLOW);
+		shapeBatch.rect(0, 0, getWidth(), getHeight());
 
-		shapeRenderer.setProjectionMatrix(batch.getProjectionMatrix());
-		shapeRenderer.setTransformMatrix(batch.getTransformMatrix());
-		shapeRenderer.translate(getX(), getY(), 0);
+		shapeBatch.setType(ShapeRenderer.ShapeType.Line);
+		shapeBatch.setLineWidth(3.0f);
+		shapeBatch.setColor(Color.ORANGE);
+		shapeBatch.rect(0, 0, getWidth(), getHeight());
 
-		shapeRenderer.begin(ShapeRenderer.ShapeType.Filled);
-		shapeRenderer.setColor(Color.YELLOW);
-		shapeRenderer.rect(0, 0, getWidth(), getHeight());
-		shapeRenderer.end();
-
-		Gdx.gl.glLineWidth(3.0f);
-		shapeRenderer.begin(ShapeRenderer.ShapeType.Line);
-		shapeRenderer.setColor(Color.ORANGE);
-		shapeRenderer.rect(0, 0, getWidth(), getHeight());
-		shapeRenderer.end();
-		Gdx.gl.glLineWidth(1.0f);
-
-		shapeRenderer.begin(ShapeRenderer.ShapeType.Filled);
+		// The dyes go over the frame, as they were drawn after it.
+		shapeBatch.setType(ShapeRenderer.ShapeType.Filled);
+		shapeBatch.setLayer(1);
 		for (Dye dye : Dye.values()) {
-			shapeRenderer.setColor(dye.getColor());
+			shapeBatch.setColor(dye.getColor());
 			Vector2 v = indexToPoint(dye.ordinal());
-			shapeRenderer.rect(v.x, v.y, Level.CELL_SIZE, Level.CELL_SIZE);
+			shapeBatch.rect(v.x, v.y, Level.CELL_SIZE, Level.CELL_SIZE);
 		}
-		shapeRenderer.end();
-
-		batch.begin();
 	}
 
 	public LevelObject getChangingObject() {
@@ -21,6 +21,11 @@ public abstract class EditingArea extends Actor {
 				start((int)(x / Level.CELL_SIZE), (int)(y / Level.CELL_SIZE));
 			}
 
+			@Override
+			public void touchUp(InputEvent event, float x, float y, int pointer, int button) {
+				end();
+			}
+
 			@Override
 			public boolean longPress(Actor actor, float x, float y) {
 				change((int) (x / Level.CELL_SIZE), (int) (y / Level.CELL_SIZE));
@@ -46,4 +51,9 @@ public abstract class EditingArea extends Actor {
 	public abstract void put(int column, int row, boolean moving);
 
 	public abstract void change(int column, int row);
+
+	/**
+	 * Called when the touch started in {@link #start(int, int)} is released, after the last {@link #put(int, int, boolean)}.
+	 */
+	public abstract void end();
 }
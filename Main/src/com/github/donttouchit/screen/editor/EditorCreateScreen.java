@@ -91,7 +91,7 @@ public class EditorCreateScreen extends BasicScreen {
 	protected void draw() {
 		super.draw();
 		Gdx.gl.glClear(GL10.GL_COLOR_BUFFER_BIT);
-		stage.draw();
+		drawStage(stage);
 	}
 
 	@Override
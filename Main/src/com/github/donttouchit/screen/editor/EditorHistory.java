@@ -0,0 +1,202 @@
+package com.github.donttouchit.screen.editor;
+
+import com.github.donttouchit.game.Level;
+import com.github.donttouchit.game.LevelObject;
+import com.github.donttouchit.game.properties.Dye;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+
+/**
+ * Every change the editor makes to the level goes through here and is logged as a command with the values
+ * before and after it. Undo and redo apply these values back instead of saving the whole level.
+ *
+ * Commands made between {@link #beginStroke()} and {@link #endStroke()} are undone as one batch,
+ * so a wall painted with one pan is one step. Batches are stored as parallel arrays of ints,
+ * and the oldest ones are dropped when the log holds more than {@link #COMMAND_CAPACITY} commands.
+ */
+public class EditorHistory {
+	private static final int COMMAND_CAPACITY = 1 << 18;
+
+	private static final int PASSABLE = 0;
+	private static final int ADD = 1;
+	private static final int REMOVE = 2;
+	private static final int PARAMETER = 3;
+	private static final int DYE = 4;
+
+	private static class Batch {
+		private int size = 0;
+		private byte[] types = new byte[8];
+		private int[] columns = new int[8];
+		private int[] rows = new int[8];
+		private int[] before = new int[8];
+		private int[] after = new int[8];
+		private LevelObject[] objects = new LevelObject[8];
+
+		private void add(int type, int column, int row, int before, int after, LevelObject object) {
+			if (size == types.length) {
+				int capacity = size * 2;
+				types = Arrays.copyOf(types, capacity);
+				columns = Arrays.copyOf(columns, capacity);
+				rows = Arrays.copyOf(rows, capacity);
+				this.before = Arrays.copyOf(this.before, capacity);
+				this.after = Arrays.copyOf(this.after, capacity);
+				objects = Arrays.copyOf(objects, capacity);
+			}
+			types[size] = (byte) type;
+			columns[size] = column;
+			rows[size] = row;
+			this.before[size] = before;
+			this.after[size] = after;
+			objects[size] = object;
+			++size;
+		}
+	}
+
+	private final Level level;
+	private final Deque<Batch> undoBatches = new ArrayDeque<Batch>();
+	private final Deque<Batch> redoBatches = new ArrayDeque<Batch>();
+	private int commands = 0;
+	private Batch stroke;
+
+	public EditorHistory(Level level) {
+		this.level = level;
+	}
+
+	public void beginStroke() {
+		endStroke();
+		stroke = new Batch();
+	}
+
+	public void endStroke() {
+		if (stroke != null) {
+			Batch batch = stroke;
+			stroke = null;
+			push(batch);
+		}
+	}
+
+	private void record(int type, int column, int row, int before, int after, LevelObject object) {
+		if (stroke != null) {
+			stroke.add(type, column, row, before, after, object);
+		} else {
+			Batch batch = new Batch();
+			batch.add(type, column, row, before, after, object);
+			push(batch);
+		}
+	}
+
+	private void push(Batch batch) {
+		if (batch.size == 0) {
+			return;
+		}
+		for (Batch redoBatch : redoBatches) {
+			commands -= redoBatch.size;
+		}
+		redoBatches.clear();
+		undoBatches.addLast(batch);
+		commands += batch.size;
+		while (commands > COMMAND_CAPACITY && undoBatches.size() > 1) {
+			commands -= undoBatches.removeFirst().size;
+		}
+	}
+
+	public void setPassable(int column, int row, boolean passable) {
+		boolean before = level.isPassable(column, row);
+		if (before != passable) {
+			level.setPassable(column, row, passable);
+			record(PASSABLE, column, row, before ? 1 : 0, passable ? 1 : 0, null);
+		}
+	}
+
+	public void addLevelObject(LevelObject levelObject) {
+		level.addLevelObject(levelObject);
+		record(ADD, levelObject.getColumn(), levelObject.getRow(), 0, 0, levelObject);
+	}
+
+	public void removeLevelObject(LevelObject levelObject) {
+		level.removeLevelObject(levelObject);
+		record(REMOVE, levelObject.getColumn(), levelObject.getRow(), 0, 0, levelObject);
+	}
+
+	public void changeParameter(LevelObject levelObject) {
+		int before = levelObject.getParameter();
+		levelObject.changeParameter();
+		if (levelObject.getParameter() != before) {
+			record(PARAMETER, levelObject.getColumn(), levelObject.getRow(), before, levelObject.getParameter(), levelObject);
+		}
+	}
+
+	public void setDye(LevelObject levelObject, Dye dye) {
+		Dye before = levelObject.getDye();
+		if (before != dye) {
+			levelObject.setDye(dye);
+			record(DYE, levelObject.getColumn(), levelObject.getRow(), before.ordinal(), dye.ordinal(), levelObject);
+		}
+	}
+
+	public boolean canUndo() {
+		return !undoBatches.isEmpty() || stroke != null && stroke.size > 0;
+	}
+
+	public boolean canRedo() {
+		return !redoBatches.isEmpty();
+	}
+
+	public boolean undo() {
+		endStroke();
+		if (undoBatches.isEmpty()) {
+			return false;
+		}
+		Batch batch = undoBatches.removeLast();
+		for (int index = batch.size - 1; index >= 0; --index) {
+			apply(batch, index, true);
+		}
+		redoBatches.addLast(batch);
+		return true;
+	}
+
+	public boolean redo() {
+		endStroke();
+		if (redoBatches.isEmpty()) {
+			return false;
+		}
+		Batch batch = redoBatches.removeLast();
+		for (int index = 0; index < batch.size; ++index) {
+			apply(batch, index, false);
+		}
+		undoBatches.addLast(batch);
+		return true;
+	}
+
+	private void apply(Batch batch, int index, boolean undo) {
+		int value = undo ? batch.before[index] : batch.after[index];
+		LevelObject levelObject = batch.objects[index];
+		switch (batch.types[index]) {
+			case PASSABLE:
+				level.setPassable(batch.columns[index], batch.rows[index], value != 0);
+				break;
+			case ADD:
+				if (undo) {
+					level.removeLevelObject(levelObject);
+				} else {
+					level.addLevelObject(levelObject);
+				}
+				break;
+			case REMOVE:
+				if (undo) {
+					level.addLevelObject(levelObject);
+				} else {
+					level.removeLevelObject(levelObject);
+				}
+				break;
+			case PARAMETER:
+				levelObject.setParameter(value);
+				break;
+			case DYE:
+				levelObject.setDye(Dye.values()[value]);
+				break;
+		}
+	}
+}
@@ -56,7 +56,6 @@ public class EditorMenuScreen extends BasicScreen {
 			@Override
 			public void clicked(InputEvent event, float x, float y) {
 				FileUtils.saveLevel(getGame().getEditorScreen().getEditingLevel(), "test.lvl");
-				System.err.println("Level should be saved");
 			}
 		});
 
@@ -103,7 +102,7 @@ public class EditorMenuScreen extends BasicScreen {
 	protected void draw() {
 		super.draw();
 		Gdx.gl.glClear(GL10.GL_COLOR_BUFFER_BIT);
-		stage.draw();
+		drawStage(stage);
 	}
 
 	@Override
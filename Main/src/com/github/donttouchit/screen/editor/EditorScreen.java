@@ -3,7 +3,6 @@ package com.github.donttouchit.screen.editor;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.graphics.GL10;
 import com.badlogic.gdx.math.Vector2;
-import com.badlogic.gdx.scenes.scene2d.Group;
 import com.badlogic.gdx.scenes.scene2d.InputEvent;
 import com.badlogic.gdx.scenes.scene2d.Stage;
 import com.badlogic.gdx.scenes.scene2d.ui.TextButton;
@@ -12,6 +11,7 @@ import com.github.donttouchit.DontTouchIt;
 import com.github.donttouchit.game.Level;
 import com.github.donttouchit.game.LevelObject;
 import com.github.donttouchit.game.properties.Dye;
+import com.github.donttouchit.game.view.LevelView;
 import com.github.donttouchit.geom.GridPoint;
 import com.github.donttouchit.screen.BasicScreen;
 import com.github.donttouchit.utils.FontUtils;
@@ -26,11 +26,16 @@ public class EditorScreen extends BasicScreen {
 	private static final float PALETTE_PADDING = 20;
 
 	private Level editingLevel = null;
+	private LevelView editingLevelView = null;
+	private UnreachableRegions unreachableRegions = null;
+	private EditorHistory history = null;
 
 	private final Stage levelStage = new Stage();
 	private final Stage controlsStage = new Stage();
 	private final Stage popupStage = new Stage();
 	private final TextButton menu = new TextButton("M", FontUtils.style);
+	private final TextButton undo = new TextButton("U", FontUtils.style);
+	private final TextButton redo = new TextButton("R", FontUtils.style);
 
 	private final Palette palette = new Palette() {
 		@Override
@@ -49,32 +54,30 @@ public class EditorScreen extends BasicScreen {
 			LevelObject currentObject = getEditingLevel().getLevelObject(column, row);
 			switch (palette.getCurrentBrush().getBrushType()) {
 				case ERASER:
-					if (!getEditingLevel().isPassable(column, row)) {
-						getEditingLevel().setPassable(column, row, true);
-					}
+					history.setPassable(column, row, true);
 					if (currentObject != null) {
-						getEditingLevel().removeLevelObject(currentObject);
+						history.removeLevelObject(currentObject);
 					}
 					break;
 				case WALL:
 					if (currentObject != null) {
-						getEditingLevel().removeLevelObject(currentObject);
+						history.removeLevelObject(currentObject);
 					}
-					getEditingLevel().setPassable(column, row, !placingWalls);
+					history.setPassable(column, row, !placingWalls);
 					break;
 				case LEVEL_OBJECT:
 					if (!moving) {
 						LevelObject newObject = palette.getCurrentBrush().createLevelObject();
 						newObject.setBoardPosition(column, row);
 						if (currentObject != null && currentObject.getClass() != newObject.getClass()) {
-							getEditingLevel().removeLevelObject(currentObject);
+							history.removeLevelObject(currentObject);
 							currentObject = null;
 						}
 						if (currentObject != null) {
-							currentObject.changeParameter();
+							history.changeParameter(currentObject);
 						} else {
-							getEditingLevel().addLevelObject(newObject);
-							getEditingLevel().setPassable(column, row, true);
+							history.addLevelObject(newObject);
+							history.setPassable(column, row, true);
 						}
 					}
 					break;
@@ -94,6 +97,12 @@ public class EditorScreen extends BasicScreen {
 		@Override
 		public void start(int column, int row) {
 			placingWalls = getEditingLevel().isPassable(column, row);
+			history.beginStroke();
+		}
+
+		@Override
+		public void end() {
+			history.endStroke();
 		}
 	};
 
@@ -111,7 +120,7 @@ public class EditorScreen extends BasicScreen {
 		public void dyeChosen(Dye dye) {
 			setVisible(false);
 			Gdx.input.setInputProcessor(controlsStage);
-			getChangingObject().setDye(dye);
+			history.setDye(getChangingObject(), dye);
 		}
 	};
 
@@ -121,6 +130,8 @@ public class EditorScreen extends BasicScreen {
 		controlsStage.addActor(editingArea);
 		controlsStage.addActor(palette);
 		controlsStage.addActor(menu);
+		controlsStage.addActor(undo);
+		controlsStage.addActor(redo);
 
 		menu.addListener(new ClickListener() {
 			@Override
@@ -129,17 +140,24 @@ public class EditorScreen extends BasicScreen {
 			}
 		});
 
-		popupStage.addActor(chooseBrush);
-		popupStage.addActor(chooseDye);
-		chooseBrush.setVisible(false);
-		chooseDye.setVisible(false);
+		undo.addListener(new ClickListener() {
+			@Override
+			public void clicked(InputEvent event, float x, float y) {
+				history.undo();
+			}
+		});
 
-		editingArea.addListener(new ClickListener() {
+		redo.addListener(new ClickListener() {
 			@Override
 			public void clicked(InputEvent event, float x, float y) {
-				System.err.println("editingArea clicked!");
+				history.redo();
 			}
 		});
+
+		popupStage.addActor(chooseBrush);
+		popupStage.addActor(chooseDye);
+		chooseBrush.setVisible(false);
+		chooseDye.setVisible(false);
 	}
 
 	@Override
@@ -158,20 +176,18 @@ public class EditorScreen extends BasicScreen {
 			float w = width - LEFT_PADDING - RIGHT_PADDING - PALETTE_PADDING - PALETTE_WIDTH;
 			float h = height - TOP_PADDING - BOTTOM_PADDING;
 
-			getEditingLevel().setBounds(LEFT_PADDING, BOTTOM_PADDING, w, h);
-			Group group = editingLevel.getGroup();
+			editingLevelView.fit(LEFT_PADDING, BOTTOM_PADDING, w, h);
 
-			editingArea.setSize(group.getWidth(), group.getHeight());
-			editingArea.setScale(group.getScaleX(), group.getScaleY());
-			editingArea.setPosition(group.getX(), group.getY());
-
-			System.err.println("Editing area at " + editingArea.getX() + " " + editingArea.getY());
-			System.err.println("Editing area is " + editingArea.getWidth() + " " + editingArea.getHeight());
+			editingArea.setSize(editingLevelView.getWidth(), editingLevelView.getHeight());
+			editingArea.setScale(editingLevelView.getScaleX(), editingLevelView.getScaleY());
+			editingArea.setPosition(editingLevelView.getX(), editingLevelView.getY());
 		}
 
 		Vector2 v = palette.getMenuButtonPosition();
 		menu.setPosition(v.x, v.y);
 		menu.setSize(Level.CELL_SIZE, Level.CELL_SIZE);
+		undo.setPosition(10, height - 10 - Level.CELL_SIZE);
+		redo.setPosition(10, height - 10 - 2 * Level.CELL_SIZE);
 	}
 
 	@Override
@@ -188,16 +204,26 @@ public class EditorScreen extends BasicScreen {
 			throw new IllegalStateException("Level is not set");
 		}
 		levelStage.clear();
-		levelStage.addActor(getEditingLevel().getGroup());
+		levelStage.addActor(editingLevelView);
 	}
 
 	@Override
 	protected void draw() {
 		super.draw();
 		Gdx.gl.glClear(GL10.GL_COLOR_BUFFER_BIT);
-		controlsStage.draw();
-		levelStage.draw();
-		popupStage.draw();
+		drawStage(controlsStage);
+		drawStage(levelStage);
+		drawStage(popupStage);
+	}
+
+	@Override
+	protected Level getActiveLevel() {
+		return editingLevel;
+	}
+
+	@Override
+	protected boolean isAnimating() {
+		return editingLevel != null && editingLevel.isAnimating();
 	}
 
 	@Override
@@ -222,6 +248,14 @@ public class EditorScreen extends BasicScreen {
 
 	public void setEditingLevel(Level editingLevel) {
 		this.editingLevel = editingLevel;
+		this.editingLevelView = new LevelView(editingLevel);
+		this.history = new EditorHistory(editingLevel);
+		if (unreachableRegions != null) {
+			// Stops it listening to the old level.
+			unreachableRegions.remove();
+		}
+		unreachableRegions = new UnreachableRegions(editingLevel);
+		editingLevelView.addActor(unreachableRegions);
 	}
 }
 
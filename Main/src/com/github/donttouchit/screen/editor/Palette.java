@@ -1,13 +1,12 @@
 package com.github.donttouchit.screen.editor;
 
-import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
-import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.scenes.scene2d.Actor;
 import com.badlogic.gdx.scenes.scene2d.InputEvent;
 import com.badlogic.gdx.scenes.scene2d.utils.ActorGestureListener;
+import com.github.donttouchit.game.view.ShapeBatch;
 import com.github.donttouchit.geom.GridPoint;
 
 public abstract class Palette extends Grid {
@@ -15,7 +14,6 @@ public abstract class Palette extends Grid {
 	private static final int MAX_BRUSHES_IN_HEIGHT = 6;
 	private static final float BRUSH_SIZE = 64;
 
-	private final ShapeRenderer shapeRenderer = new ShapeRenderer();
 	private final Brush eraser = new Brush(BrushType.ERASER, null);
 
 	private Brush[][] brushes = new Brush[MAX_BRUSHES_IN_WIDTH][MAX_BRUSHES_IN_HEIGHT];
@@ -64,27 +62,18 @@ public abstract class Palette extends Grid {
 	public abstract void brushRequest(GridPoint p);
 
 	private void drawBorder(float x, float y, SpriteBatch batch, boolean selected) {
-		batch.end();
-
-		shapeRenderer.setProjectionMatrix(batch.getProjectionMatrix());
-		shapeRenderer.setTransformMatrix(batch.getTransformMatrix());
-		shapeRenderer.translate(x, y, 0);
-
-		Gdx.gl.glLineWidth(3.0f);
-		shapeRenderer.begin(ShapeRenderer.ShapeType.Line);
+		ShapeBatch shapeBatch = ShapeBatch.get(batch);
+		shapeBatch.setOffset(x, y);
+		shapeBatch.setLineWidth(3.0f);
 		if (selected) {
-			shapeRenderer.setColor(Color.YELLOW);
+			shapeBatch.setColor(Color.YELLOW);
 		} else {
-			shapeRenderer.setColor(Color.GRAY);
+			shapeBatch.setColor(Color.GRAY);
 		}
-		shapeRenderer.line(0, 0, BRUSH_SIZE, 0);
-		shapeRenderer.line(BRUSH_SIZE, 0, BRUSH_SIZE, BRUSH_SIZE);
-		shapeRenderer.line(BRUSH_SIZE, BRUSH_SIZE, 0, BRUSH_SIZE);
-		shapeRenderer.line(0, BRUSH_SIZE, 0, 0);
-		shapeRenderer.end();
-		Gdx.gl.glLineWidth(1.0f);
-
-		batch.begin();
+		shapeBatch.line(0, 0, BRUSH_SIZE, 0);
+		shapeBatch.line(BRUSH_SIZE, 0, BRUSH_SIZE, BRUSH_SIZE);
+		shapeBatch.line(BRUSH_SIZE, BRUSH_SIZE, 0, BRUSH_SIZE);
+		shapeBatch.line(0, BRUSH_SIZE, 0, 0);
 	}
 
 	@Override
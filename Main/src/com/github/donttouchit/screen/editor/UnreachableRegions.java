@@ -0,0 +1,168 @@
+package com.github.donttouchit.screen.editor;
+
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
+import com.badlogic.gdx.scenes.scene2d.Actor;
+import com.badlogic.gdx.scenes.scene2d.Stage;
+import com.badlogic.gdx.scenes.scene2d.Touchable;
+import com.github.donttouchit.game.Level;
+import com.github.donttouchit.game.LevelListener;
+import com.github.donttouchit.game.LevelObject;
+import com.github.donttouchit.game.view.ShapeBatch;
+import com.github.donttouchit.geom.GridPoint;
+import com.github.donttouchit.geom.RegionLabeling;
+
+import java.util.Arrays;
+
+/**
+ * Shades the open cells of the edited level which can not be reached from the enter point.
+ * The regions are labeled once and then updated cell by cell as walls are painted and objects placed.
+ * The enter cell itself is a wall, so the reachable regions are the ones around it, as in {@link com.github.donttouchit.geom.LevelChecker}.
+ * The shaded runs of cells are kept between frames and found again only after a cell has changed.
+ *
+ * The actor stops listening to the level when it leaves its stage, and labels the level again when it comes back.
+ */
+public class UnreachableRegions extends Actor implements LevelListener {
+	private static final int[] deltaColumn = {0, 1, 0, -1};
+	private static final int[] deltaRow = {1, 0, -1, 0};
+
+	private final Level level;
+	private final RegionLabeling labeling;
+	private final int[] enterLabels = new int[4];
+	private int enterLabelCount = 0;
+
+	// Shaded runs as triples of the first column, the row and the length.
+	private int[] runs = new int[3 * 16];
+	private int runCount = 0;
+	private boolean runsChanged = true;
+	private boolean listening = false;
+
+	public UnreachableRegions(Level level) {
+		this.level = level;
+		labeling = new RegionLabeling(level.getColumns(), level.getRows());
+		listen();
+		setWidth(level.getColumns() * Level.CELL_SIZE);
+		setHeight(level.getRows() * Level.CELL_SIZE);
+		setTouchable(Touchable.disabled);
+	}
+
+	@Override
+	public void levelObjectAdded(LevelObject levelObject) {
+	}
+
+	@Override
+	public void levelObjectRemoved(LevelObject levelObject) {
+	}
+
+	@Override
+	public void passableChanged(int column, int row) {
+		cellChanged(column, row);
+	}
+
+	@Override
+	public void blockedChanged(int column, int row) {
+		cellChanged(column, row);
+	}
+
+	private void cellChanged(int column, int row) {
+		labeling.setOpen(column, row, !level.getWalls().isAnySet(level.getBlockers(), column, row));
+		runsChanged = true;
+	}
+
+	@Override
+	protected void setStage(Stage stage) {
+		super.setStage(stage);
+		if (stage != null) {
+			listen();
+		} else if (listening) {
+			level.removeLevelListener(this);
+			listening = false;
+		}
+	}
+
+	private void listen() {
+		if (!listening) {
+			// The level may have been changed while nobody listened to it.
+			labeling.build(level.getWalls(), level.getBlockers());
+			runsChanged = true;
+			level.addLevelListener(this);
+			listening = true;
+		}
+	}
+
+	private void collectEnterLabels() {
+		enterLabelCount = 0;
+		GridPoint enter = level.getEnterPoint();
+		for (int direction = 0; direction < 4; ++direction) {
+			int column = enter.x + deltaColumn[direction], row = enter.y + deltaRow[direction];
+			if (level.isOnBoard(column, row) && labeling.isOpen(column, row)) {
+				enterLabels[enterLabelCount++] = labeling.getLabel(column, row);
+			}
+		}
+	}
+
+	private boolean isShaded(int column, int row) {
+		if (!labeling.isOpen(column, row)) {
+			return false;
+		}
+		int label = labeling.getLabel(column, row);
+		for (int index = 0; index < enterLabelCount; ++index) {
+			if (enterLabels[index] == label) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Returns true if the cell is open but there is no way to it from the enter point.
+	 */
+	public boolean isUnreachable(int column, int row) {
+		collectEnterLabels();
+		return isShaded(column, row);
+	}
+
+	/**
+	 * Finds the horizontal runs of shaded cells, so a big region takes a few rectangles.
+	 */
+	private void findRuns() {
+		collectEnterLabels();
+		runCount = 0;
+		for (int row = 0; row < labeling.getRows(); ++row) {
+			int runStart = -1;
+			for (int column = 0; column <= labeling.getColumns(); ++column) {
+				boolean unreachable = column < labeling.getColumns() && isShaded(column, row);
+				if (unreachable && runStart < 0) {
+					runStart = column;
+				} else if (!unreachable && runStart >= 0) {
+					if (3 * runCount == runs.length) {
+						runs = Arrays.copyOf(runs, 2 * runs.length);
+					}
+					runs[3 * runCount] = runStart;
+					runs[3 * runCount + 1] = row;
+					runs[3 * runCount + 2] = column - runStart;
+					++runCount;
+					runStart = -1;
+				}
+			}
+		}
+		runsChanged = false;
+	}
+
+	@Override
+	public void draw(SpriteBatch batch, float parentAlpha) {
+		super.draw(batch, parentAlpha);
+		if (runsChanged) {
+			findRuns();
+		}
+
+		ShapeBatch shapeBatch = ShapeBatch.get(batch);
+		shapeBatch.setOffset(getX(), getY());
+		shapeBatch.setType(ShapeRenderer.ShapeType.Filled);
+		shapeBatch.setColor(0.0f, 0.0f, 0.0f, 0.5f);
+		for (int run = 0; run < runCount; ++run) {
+			shapeBatch.rect(runs[3 * run] * Level.CELL_SIZE, runs[3 * run + 1] * Level.CELL_SIZE,
+					runs[3 * run + 2] * Level.CELL_SIZE, Level.CELL_SIZE);
+		}
+	}
+}
@@ -0,0 +1,57 @@
+package com.github.donttouchit.utils;
+
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+
+/**
+ * Registry of the game art. The tiles of the board and the buttons are packed into one atlas.
+ * The sprites of the level objects are not in it, {@link com.github.donttouchit.game.view.ShapeSprites}
+ * rasterizes them into pages of its own, so a game frame takes a draw call per tile chunk, one for the sprites,
+ * one for the buttons and one for the shapes. {@link com.github.donttouchit.screen.PerformanceHud} shows the calls of the stage batch.
+ * The atlas is loaded once through an AssetManager, which also reloads it when the context is lost.
+ */
+public class Assets {
+	private static final String gameAtlasPath = "resources/game.atlas";
+
+	public static final String WALL = "wall";
+	public static final String FLOOR = "floor";
+	public static final String RESTART = "restart";
+	public static final String BOULDER = "boulder";
+
+	private static AssetManager assetManager;
+	private static TextureAtlas gameAtlas;
+
+	public static void load() {
+		if (assetManager != null) {
+			return;
+		}
+		assetManager = new AssetManager();
+		assetManager.load(gameAtlasPath, TextureAtlas.class);
+		assetManager.finishLoading();
+		gameAtlas = assetManager.get(gameAtlasPath, TextureAtlas.class);
+	}
+
+	public static TextureAtlas getGameAtlas() {
+		if (gameAtlas == null) {
+			throw new IllegalStateException("Assets are not loaded");
+		}
+		return gameAtlas;
+	}
+
+	public static TextureRegion getRegion(String name) {
+		TextureRegion region = getGameAtlas().findRegion(name);
+		if (region == null) {
+			throw new IllegalArgumentException("There is no region " + name + " in " + gameAtlasPath);
+		}
+		return region;
+	}
+
+	public static void dispose() {
+		if (assetManager != null) {
+			assetManager.dispose();
+			assetManager = null;
+			gameAtlas = null;
+		}
+	}
+}
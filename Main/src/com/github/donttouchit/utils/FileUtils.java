@@ -4,13 +4,21 @@ import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.files.FileHandle;
 import com.badlogic.gdx.utils.Json;
 import com.github.donttouchit.game.Level;
+import com.github.donttouchit.game.LevelFormat;
 
-import java.lang.reflect.InvocationTargetException;
+import java.io.File;
+import java.io.IOException;
+import java.io.UnsupportedEncodingException;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 public class FileUtils {
 
 	private static Json json = new Json();
+	private static final Map<String, LevelPack> openedPacks = new HashMap<String, LevelPack>();
+	private static final Map<String, Long> openedPacksModified = new HashMap<String, Long>();
 
 	public static ArrayList<String> getLevelsList(String directory) {
 		ArrayList<String> levelsFilenames = new ArrayList<String>();
@@ -21,11 +29,67 @@ public class FileUtils {
 		return levelsFilenames;
 	}
 
+	/**
+	 * Returns the level packs of the directory. A pack is opened once and reopened only when its file changes,
+	 * so listing the levels reads nothing but the indexes.
+	 */
+	public static synchronized List<LevelPack> getLevelPacks(String directory) {
+		List<LevelPack> packs = new ArrayList<LevelPack>();
+		for (FileHandle handle : Gdx.files.local(directory).list(LevelPack.EXTENSION)) {
+			File file = handle.file().getAbsoluteFile();
+			LevelPack pack = openedPacks.get(file.getPath());
+			if (pack == null || openedPacksModified.get(file.getPath()) != file.lastModified()) {
+				try {
+					pack = LevelPack.open(file);
+				} catch (IOException e) {
+					Gdx.app.error("Level loading", "Can not open " + file, e);
+					continue;
+				}
+				openedPacks.put(file.getPath(), pack);
+				openedPacksModified.put(file.getPath(), file.lastModified());
+			}
+			packs.add(pack);
+		}
+		return packs;
+	}
+
+	/**
+	 * Saves the level in the binary {@link LevelFormat}.
+	 */
 	public static void saveLevel(Level level, String filename) {
+		Gdx.files.local(filename).writeBytes(LevelFormat.encode(level.getSpecification()), false);
+	}
+
+	/**
+	 * Saves the level as JSON, which is easy to edit by hand. {@link #loadLevel(String)} reads both formats.
+	 */
+	public static void exportLevel(Level level, String filename) {
 		Gdx.files.local(filename).writeString(json.prettyPrint(level.getSpecification()), false);
 	}
 
-	public static Level loadLevel(String filename) throws InvocationTargetException, NoSuchMethodException, InstantiationException, IllegalAccessException {
-		return new Level(json.fromJson(Level.Specification.class, Gdx.files.local(filename).readString()));
+	public static Level loadLevel(String filename) {
+		return new Level(parseLevel(Gdx.files.local(filename).readBytes()));
+	}
+
+	/**
+	 * Parses a level saved by {@link #saveLevel(Level, String)} or {@link #exportLevel(Level, String)}
+	 * without touching Gdx.files, so it works outside of a running application. Safe to call from several threads.
+	 */
+	public static Level.Specification parseLevel(byte[] bytes) {
+		if (LevelFormat.isBinary(bytes)) {
+			return LevelFormat.decode(bytes);
+		}
+		try {
+			return parseLevel(new String(bytes, "UTF-8"));
+		} catch (UnsupportedEncodingException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * Parses a level exported as JSON. Safe to call from several threads.
+	 */
+	public static Level.Specification parseLevel(String text) {
+		return new Json().fromJson(Level.Specification.class, text);
 	}
 }
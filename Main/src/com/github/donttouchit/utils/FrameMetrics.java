@@ -0,0 +1,192 @@
+package com.github.donttouchit.utils;
+
+import com.badlogic.gdx.scenes.scene2d.Actor;
+import com.badlogic.gdx.scenes.scene2d.Group;
+import com.badlogic.gdx.scenes.scene2d.Stage;
+import com.badlogic.gdx.utils.SnapshotArray;
+import com.github.donttouchit.game.Level;
+import com.github.donttouchit.game.view.ShapeBatch;
+
+import java.util.Arrays;
+
+/**
+ * Measures every frame rendered by a screen: the frame time, the time of update and draw, the draw calls of the stages,
+ * the actors, the level listener dispatches and the heap. Frame times are kept for the last {@link #WINDOW} frames
+ * to take percentiles, the other values are averaged over the same frames.
+ * Everything is collected from {@link com.github.donttouchit.screen.BasicScreen#render(float)}.
+ */
+public class FrameMetrics {
+	public static final int WINDOW = 240;
+	private static final float SMOOTHING = 1f / 30;
+
+	private static final float[] frameTimes = new float[WINDOW];
+	private static final float[] sortedFrameTimes = new float[WINDOW];
+	private static int frameTimeCount = 0;
+	private static int frameTimeIndex = 0;
+	private static boolean sorted = false;
+
+	private static String screenName = "";
+	private static long frameStart, updateEnd;
+	private static float updateTime, drawTime;
+
+	private static int batchCalls, frameBatchCalls;
+	private static int shapePasses;
+	private static long shapePassesBefore;
+	private static int actors, frameActors;
+	private static float dispatchesPerStep;
+	private static long dispatchesBefore, stepsBefore;
+	private static Level level;
+
+	private static long heapUsed;
+	private static long allocated;
+	private static int collections;
+
+	public static void beginFrame(String screenName) {
+		if (!FrameMetrics.screenName.equals(screenName)) {
+			FrameMetrics.screenName = screenName;
+			updateTime = drawTime = 0;
+		}
+		frameBatchCalls = 0;
+		frameActors = 0;
+		shapePassesBefore = ShapeBatch.getPassCount();
+		frameStart = System.nanoTime();
+	}
+
+	public static void updated() {
+		updateEnd = System.nanoTime();
+	}
+
+	/**
+	 * Must be called after every stage drawn in the frame, with the total render calls of its batch before the draw.
+	 */
+	public static void stageDrawn(Stage stage, int totalRenderCallsBefore) {
+		frameBatchCalls += stage.getSpriteBatch().totalRenderCalls - totalRenderCallsBefore;
+		frameActors += countActors(stage.getRoot());
+	}
+
+	public static void endFrame(Level activeLevel) {
+		long frameEnd = System.nanoTime();
+		updateTime += ((updateEnd - frameStart) / 1e6f - updateTime) * SMOOTHING;
+		drawTime += ((frameEnd - updateEnd) / 1e6f - drawTime) * SMOOTHING;
+
+		frameTimes[frameTimeIndex] = (frameEnd - frameStart) / 1e6f;
+		frameTimeIndex = (frameTimeIndex + 1) % WINDOW;
+		frameTimeCount = Math.min(frameTimeCount + 1, WINDOW);
+		sorted = false;
+
+		batchCalls = frameBatchCalls;
+		actors = frameActors;
+		shapePasses = (int) (ShapeBatch.getPassCount() - shapePassesBefore);
+
+		if (activeLevel != level) {
+			level = activeLevel;
+			if (level != null) {
+				dispatchesBefore = level.getDispatchCount();
+				stepsBefore = level.getStepCount();
+			}
+		} else if (level != null && level.getStepCount() > stepsBefore) {
+			float dispatches = (float) (level.getDispatchCount() - dispatchesBefore) / (level.getStepCount() - stepsBefore);
+			dispatchesPerStep += (dispatches - dispatchesPerStep) * SMOOTHING;
+			dispatchesBefore = level.getDispatchCount();
+			stepsBefore = level.getStepCount();
+		}
+
+		Runtime runtime = Runtime.getRuntime();
+		long used = runtime.totalMemory() - runtime.freeMemory();
+		if (used >= heapUsed) {
+			allocated += used - heapUsed;
+		} else {
+			// The heap can only shrink by a collection.
+			++collections;
+		}
+		heapUsed = used;
+	}
+
+	private static int countActors(Group group) {
+		SnapshotArray<Actor> children = group.getChildren();
+		int count = children.size;
+		for (int index = 0; index < children.size; ++index) {
+			if (children.get(index) instanceof Group) {
+				count += countActors((Group) children.get(index));
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Returns the frame time in milliseconds which the given share of the last frames did not exceed.
+	 */
+	public static float getFrameTimePercentile(float percentile) {
+		if (frameTimeCount == 0) {
+			return 0;
+		}
+		if (!sorted) {
+			System.arraycopy(frameTimes, 0, sortedFrameTimes, 0, frameTimeCount);
+			Arrays.sort(sortedFrameTimes, 0, frameTimeCount);
+			sorted = true;
+		}
+		int index = Math.min(frameTimeCount - 1, (int) (percentile * frameTimeCount));
+		return sortedFrameTimes[index];
+	}
+
+	public static String getScreenName() {
+		return screenName;
+	}
+
+	/**
+	 * Returns the average time of update of the current screen in milliseconds.
+	 */
+	public static float getUpdateTime() {
+		return updateTime;
+	}
+
+	/**
+	 * Returns the average time of draw of the current screen in milliseconds.
+	 */
+	public static float getDrawTime() {
+		return drawTime;
+	}
+
+	/**
+	 * Returns the number of SpriteBatch flushes, each of them is a draw call, in the last frame.
+	 */
+	public static int getBatchCalls() {
+		return batchCalls;
+	}
+
+	/**
+	 * Returns the number of ShapeRenderer passes in the last frame.
+	 */
+	public static int getShapePasses() {
+		return shapePasses;
+	}
+
+	public static int getActors() {
+		return actors;
+	}
+
+	/**
+	 * Returns the average number of ball and change listeners called in one step of the level.
+	 */
+	public static float getDispatchesPerStep() {
+		return dispatchesPerStep;
+	}
+
+	public static long getHeapUsed() {
+		return heapUsed;
+	}
+
+	/**
+	 * Returns the number of bytes the heap has grown by since the start, which is the lower bound of allocations.
+	 */
+	public static long getAllocated() {
+		return allocated;
+	}
+
+	/**
+	 * Returns the number of times the heap has shrunk since the start, that is the number of seen collections.
+	 */
+	public static int getCollections() {
+		return collections;
+	}
+}
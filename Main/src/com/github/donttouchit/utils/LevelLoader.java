@@ -0,0 +1,166 @@
+package com.github.donttouchit.utils;
+
+import com.badlogic.gdx.Gdx;
+import com.github.donttouchit.game.Level;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Reads, parses and builds levels on a background thread and hands them to the render thread
+ * with {@link com.badlogic.gdx.Application#postRunnable(Runnable)}, so only the views are created there.
+ * One level can be prefetched ahead, it is taken instead of loading again when the same source is loaded.
+ */
+public class LevelLoader {
+	public static abstract class Source {
+		private final String name;
+		private final String key;
+
+		protected Source(String name, String key) {
+			this.name = name;
+			this.key = key;
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		/**
+		 * Reads the specification of the level. Called on the loader thread.
+		 */
+		protected abstract Level.Specification read() throws Exception;
+
+		@Override
+		public boolean equals(Object o) {
+			return o instanceof Source && key.equals(((Source) o).key);
+		}
+
+		@Override
+		public int hashCode() {
+			return key.hashCode();
+		}
+	}
+
+	public interface Callback {
+		void loaded(Level level);
+
+		void failed(Exception e);
+	}
+
+	private static class Request implements Runnable {
+		private final Source source;
+		private Callback callback;
+		private boolean done = false;
+		private Level level;
+		private Exception error;
+
+		private Request(Source source) {
+			this.source = source;
+		}
+
+		@Override
+		public void run() {
+			Level level = null;
+			Exception error = null;
+			try {
+				level = new Level(source.read());
+			} catch (Exception e) {
+				error = e;
+			}
+			synchronized (this) {
+				this.level = level;
+				this.error = error;
+				done = true;
+				if (callback != null) {
+					deliver();
+				}
+			}
+		}
+
+		private synchronized void setCallback(Callback callback) {
+			this.callback = callback;
+			if (done) {
+				deliver();
+			}
+		}
+
+		private void deliver() {
+			final Callback callback = this.callback;
+			final Level level = this.level;
+			final Exception error = this.error;
+			Gdx.app.postRunnable(new Runnable() {
+				@Override
+				public void run() {
+					if (error == null) {
+						callback.loaded(level);
+					} else {
+						callback.failed(error);
+					}
+				}
+			});
+		}
+	}
+
+	private static ExecutorService executor;
+	private static Request prefetched;
+
+	public static Source fromPack(final LevelPack pack, final LevelPack.Entry entry) {
+		return new Source(entry.getName(), pack.getFile().getPath() + "#" + entry.getName()) {
+			@Override
+			protected Level.Specification read() throws Exception {
+				return pack.readLevel(entry);
+			}
+		};
+	}
+
+	public static Source fromFile(final String filename) {
+		return new Source(filename, filename) {
+			@Override
+			protected Level.Specification read() throws Exception {
+				return FileUtils.parseLevel(Gdx.files.local(filename).readBytes());
+			}
+		};
+	}
+
+	/**
+	 * Loads the level and calls back on the render thread. Must be called on the render thread.
+	 */
+	public static void load(Source source, Callback callback) {
+		Request request;
+		if (prefetched != null && prefetched.source.equals(source)) {
+			request = prefetched;
+			prefetched = null;
+		} else {
+			request = new Request(source);
+			getExecutor().execute(request);
+		}
+		request.setCallback(callback);
+	}
+
+	/**
+	 * Starts loading the level in the background to be taken by a later {@link #load(Source, Callback)}.
+	 * Replaces the previously prefetched level. Must be called on the render thread.
+	 */
+	public static void prefetch(Source source) {
+		if (prefetched != null && prefetched.source.equals(source)) {
+			return;
+		}
+		prefetched = new Request(source);
+		getExecutor().execute(prefetched);
+	}
+
+	private static synchronized ExecutorService getExecutor() {
+		if (executor == null) {
+			executor = Executors.newSingleThreadExecutor(new ThreadFactory() {
+				@Override
+				public Thread newThread(Runnable runnable) {
+					Thread thread = new Thread(runnable, "Level loader");
+					thread.setDaemon(true);
+					return thread;
+				}
+			});
+		}
+		return executor;
+	}
+}
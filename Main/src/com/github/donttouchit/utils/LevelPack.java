@@ -0,0 +1,223 @@
+package com.github.donttouchit.utils;
+
+import com.github.donttouchit.game.Level;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UnsupportedEncodingException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Archive of many levels with an index in front of them. The file is memory-mapped, so opening a pack reads only
+ * the index and the bytes of a level are touched when the level is loaded.
+ *
+ * Layout: magic, version, number of entries, the entries (name, offset, size, CRC32, columns, rows)
+ * and then the levels in the binary {@link com.github.donttouchit.game.LevelFormat}, all numbers big-endian.
+ */
+public class LevelPack {
+	public static final String EXTENSION = ".pack";
+	private static final byte[] MAGIC = {'D', 'T', 'I', 'P'};
+	private static final int VERSION = 1;
+
+	public static class Entry {
+		private final String name;
+		private final int offset, size, hash;
+		private final int columns, rows;
+
+		private Entry(String name, int offset, int size, int hash, int columns, int rows) {
+			this.name = name;
+			this.offset = offset;
+			this.size = size;
+			this.hash = hash;
+			this.columns = columns;
+			this.rows = rows;
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		public int getSize() {
+			return size;
+		}
+
+		public int getHash() {
+			return hash;
+		}
+
+		public int getColumns() {
+			return columns;
+		}
+
+		public int getRows() {
+			return rows;
+		}
+	}
+
+	private final File file;
+	private final MappedByteBuffer buffer;
+	private final List<Entry> entries;
+
+	private LevelPack(File file, MappedByteBuffer buffer, List<Entry> entries) {
+		this.file = file;
+		this.buffer = buffer;
+		this.entries = Collections.unmodifiableList(entries);
+	}
+
+	public static LevelPack open(File file) throws IOException {
+		RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r");
+		MappedByteBuffer buffer;
+		try {
+			// The mapping stays valid after the channel is closed.
+			FileChannel channel = randomAccessFile.getChannel();
+			buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+		} finally {
+			randomAccessFile.close();
+		}
+		buffer.order(ByteOrder.BIG_ENDIAN);
+
+		try {
+			for (byte b : MAGIC) {
+				if (buffer.get() != b) {
+					throw new IOException(file + " is not a level pack");
+				}
+			}
+			int version = buffer.get();
+			if (version != VERSION) {
+				throw new IOException("Unsupported level pack version " + version + " in " + file);
+			}
+			int count = buffer.getInt();
+			List<Entry> entries = new ArrayList<Entry>(Math.max(0, Math.min(count, 1024)));
+			for (int index = 0; index < count; ++index) {
+				byte[] name = new byte[buffer.getShort() & 0xFFFF];
+				buffer.get(name);
+				Entry entry = new Entry(new String(name, "UTF-8"),
+						buffer.getInt(), buffer.getInt(), buffer.getInt(), buffer.getInt(), buffer.getInt());
+				if (entry.offset < 0 || entry.size < 0 || entry.offset > buffer.capacity() - entry.size) {
+					throw new IOException("Level " + entry.name + " is out of " + file);
+				}
+				entries.add(entry);
+			}
+			return new LevelPack(file, buffer, entries);
+		} catch (RuntimeException e) {
+			// A truncated index underflows the buffer.
+			throw new IOException(file + " is corrupted", e);
+		}
+	}
+
+	public File getFile() {
+		return file;
+	}
+
+	public List<Entry> getEntries() {
+		return entries;
+	}
+
+	public Entry find(String name) {
+		for (Entry entry : entries) {
+			if (entry.name.equals(name)) {
+				return entry;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Copies the bytes of the level out of the pack and checks them against the index. Safe to call from several threads.
+	 */
+	public byte[] readBytes(Entry entry) throws IOException {
+		ByteBuffer view = buffer.duplicate();
+		view.position(entry.offset);
+		byte[] bytes = new byte[entry.size];
+		view.get(bytes);
+		if (hash(bytes) != entry.hash) {
+			throw new IOException("Level " + entry.name + " in " + file + " is corrupted");
+		}
+		return bytes;
+	}
+
+	public Level.Specification readLevel(Entry entry) throws IOException {
+		return FileUtils.parseLevel(readBytes(entry));
+	}
+
+	private static int hash(byte[] bytes) {
+		CRC32 crc = new CRC32();
+		crc.update(bytes);
+		return (int) crc.getValue();
+	}
+
+	/**
+	 * Collects levels and writes them into a pack.
+	 */
+	public static class Writer {
+		private final List<String> names = new ArrayList<String>();
+		private final List<byte[]> levels = new ArrayList<byte[]>();
+		private final List<int[]> sizes = new ArrayList<int[]>();
+
+		/**
+		 * Adds a level in the binary format under the given name.
+		 */
+		public void add(String name, byte[] level, int columns, int rows) {
+			names.add(name);
+			levels.add(level);
+			sizes.add(new int[] {columns, rows});
+		}
+
+		public void write(File file) throws IOException {
+			List<byte[]> encodedNames = new ArrayList<byte[]>();
+			int indexSize = MAGIC.length + 1 + 4;
+			for (String name : names) {
+				byte[] encodedName = encode(name);
+				encodedNames.add(encodedName);
+				indexSize += 2 + encodedName.length + 5 * 4;
+			}
+
+			ByteBuffer index = ByteBuffer.allocate(indexSize).order(ByteOrder.BIG_ENDIAN);
+			index.put(MAGIC);
+			index.put((byte) VERSION);
+			index.putInt(levels.size());
+			int offset = indexSize;
+			for (int position = 0; position < levels.size(); ++position) {
+				byte[] level = levels.get(position);
+				index.putShort((short) encodedNames.get(position).length);
+				index.put(encodedNames.get(position));
+				index.putInt(offset);
+				index.putInt(level.length);
+				index.putInt(hash(level));
+				index.putInt(sizes.get(position)[0]);
+				index.putInt(sizes.get(position)[1]);
+				offset += level.length;
+				if (offset < 0) {
+					throw new IllegalArgumentException("The pack can not be larger than 2 GB");
+				}
+			}
+
+			FileOutputStream output = new FileOutputStream(file);
+			try {
+				output.write(index.array());
+				for (byte[] level : levels) {
+					output.write(level);
+				}
+			} finally {
+				output.close();
+			}
+		}
+
+		private static byte[] encode(String name) throws UnsupportedEncodingException {
+			byte[] encodedName = name.getBytes("UTF-8");
+			if (encodedName.length > 0xFFFF) {
+				throw new IllegalArgumentException("The level name is too long: " + name);
+			}
+			return encodedName;
+		}
+	}
+}
@@ -0,0 +1,52 @@
+package com.github.donttouchit.utils;
+
+import com.badlogic.gdx.Gdx;
+
+/**
+ * Counts the rendered frames and the time spent in them, and logs both once a minute.
+ * With rendering on demand the busy share tells how much of a core the game takes while nothing moves.
+ */
+public class RenderStats {
+	private static final long PERIOD = 60L * 1000 * 1000 * 1000;
+
+	private static long periodStart = -1;
+	private static int frames = 0;
+	private static long busyTime = 0;
+
+	private static int framesPerMinute = 0;
+	private static float busyShare = 0;
+
+	public static void frameRendered(long startTime, long endTime) {
+		if (periodStart < 0) {
+			periodStart = startTime;
+		}
+		++frames;
+		busyTime += endTime - startTime;
+
+		long elapsed = endTime - periodStart;
+		if (elapsed >= PERIOD) {
+			framesPerMinute = (int) (frames * PERIOD / elapsed);
+			busyShare = (float) busyTime / elapsed;
+			Gdx.app.log("RenderStats", framesPerMinute + " frames per minute, "
+					+ Math.round(busyShare * 1000) / 10f + "% of the time rendering, "
+					+ (Gdx.graphics.isContinuousRendering() ? "continuous" : "on demand"));
+			periodStart = endTime;
+			frames = 0;
+			busyTime = 0;
+		}
+	}
+
+	/**
+	 * Returns the number of frames rendered during the last full minute.
+	 */
+	public static int getFramesPerMinute() {
+		return framesPerMinute;
+	}
+
+	/**
+	 * Returns the share of the last full minute spent in rendering, from 0 to 1.
+	 */
+	public static float getBusyShare() {
+		return busyShare;
+	}
+}
@@ -0,0 +1,51 @@
+package com.github.donttouchit.game;
+
+import com.github.donttouchit.game.properties.Dye;
+import com.github.donttouchit.geom.Direction;
+import com.github.donttouchit.geom.GridPoint;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+
+import static org.junit.Assert.assertTrue;
+
+public class LevelAllocationTest {
+	private static final int STEPS = 20000;
+
+	/**
+	 * A ball bounced forever between two arrows over a row of pressure plates which raise and drop imaginary walls.
+	 */
+	private static Level createBouncingLevel() {
+		Level level = new Level(40, 3, new GridPoint(0, 0), new GridPoint(39, 2));
+		for (int column = 2; column < 38; column += 3) {
+			level.addLevelObject(new PressurePlate(Dye.GREEN, column, 1));
+			level.addLevelObject(new ImaginaryWall(Dye.GREEN, column + 1, 0));
+		}
+		level.addLevelObject(new Arrow(Dye.RED, 38, 1, Direction.LEFT, 1));
+		level.addLevelObject(new Arrow(Dye.RED, 0, 1, Direction.RIGHT, 1));
+		Ball ball = new HeavyBall(Dye.RED, 1, 1);
+		level.addLevelObject(ball);
+		ball.move(Direction.RIGHT);
+		return level;
+	}
+
+	@Test
+	public void steadyStateStepDoesNotAllocate() {
+		com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+		long threadId = Thread.currentThread().getId();
+		Level level = createBouncingLevel();
+		// Warm up, so the measured steps run compiled code.
+		for (int step = 0; step < STEPS; ++step) {
+			level.act(1 / 60f);
+		}
+
+		long before = threads.getThreadAllocatedBytes(threadId);
+		for (int step = 0; step < STEPS; ++step) {
+			level.act(1 / 60f);
+		}
+		long allocated = threads.getThreadAllocatedBytes(threadId) - before;
+		// The smallest object takes 16 bytes, so anything allocated per step is far above one byte per step.
+		// A few bytes may still come from the JVM itself, like a deoptimization in the middle of the loop.
+		assertTrue("Bytes allocated by " + STEPS + " steps: " + allocated, allocated < STEPS);
+	}
+}
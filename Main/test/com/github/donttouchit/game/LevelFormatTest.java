@@ -0,0 +1,133 @@
+package com.github.donttouchit.game;
+
+import com.badlogic.gdx.utils.Json;
+import com.github.donttouchit.game.properties.Dye;
+import com.github.donttouchit.geom.Direction;
+import com.github.donttouchit.geom.GridPoint;
+import com.github.donttouchit.utils.FileUtils;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.zip.CRC32;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class LevelFormatTest {
+	/**
+	 * Level with random walls, the enter and the exit in the opposite corners and a few objects.
+	 */
+	private static Level.Specification randomLevel(int columns, int rows, long seed) {
+		Random random = new Random(seed);
+		Level level = new Level(columns, rows, new GridPoint(0, 0), new GridPoint(columns - 1, rows - 1));
+		for (int column = 0; column < columns; ++column) {
+			for (int row = 0; row < rows; ++row) {
+				if ((column != 0 || row != 0) && (column != columns - 1 || row != rows - 1)) {
+					level.setPassable(column, row, random.nextBoolean());
+				}
+			}
+		}
+		level.addLevelObject(new Arrow(Dye.BLUE, columns / 2, rows / 2, Direction.LEFT, -1));
+		level.addLevelObject(new ImaginaryWall(Dye.GREEN, columns - 1, 0));
+		return level.getSpecification();
+	}
+
+	private static void assertSameLevel(Level.Specification expected, Level.Specification actual) {
+		assertEquals(expected.columns, actual.columns);
+		assertEquals(expected.rows, actual.rows);
+		assertEquals(expected.enterPoint, actual.enterPoint);
+		assertEquals(expected.exitPoint, actual.exitPoint);
+		for (int column = 0; column < expected.columns; ++column) {
+			assertTrue("Column " + column + " differs", Arrays.equals(expected.passable[column], actual.passable[column]));
+		}
+		assertEquals(expected.levelObjectsSpecifications.size(), actual.levelObjectsSpecifications.size());
+		// The objects have no fields apart from those written to the format, so the same bytes mean the same objects.
+		assertArrayEquals(LevelFormat.encode(expected), LevelFormat.encode(actual));
+	}
+
+	private static byte[] withChecksum(byte[] bytes) {
+		CRC32 crc = new CRC32();
+		crc.update(bytes, 0, bytes.length - 4);
+		int checksum = (int) crc.getValue();
+		for (int index = 0; index < 4; ++index) {
+			bytes[bytes.length - 4 + index] = (byte) (checksum >>> (24 - 8 * index));
+		}
+		return bytes;
+	}
+
+	@Test
+	public void roundTripsPackedGrid() {
+		int[][] sizes = {{2, 3}, {3, 3}, {7, 5}, {8, 8}, {9, 13}, {64, 2}, {65, 3}};
+		for (int index = 0; index < sizes.length; ++index) {
+			Level.Specification level = randomLevel(sizes[index][0], sizes[index][1], index);
+			assertSameLevel(level, LevelFormat.decode(LevelFormat.encode(level)));
+		}
+	}
+
+	@Test
+	public void roundTripsVarIntEdges() {
+		// 127 and 128 are the last one byte and the first two byte values of an unsigned varint,
+		// they are written as the size and as the column of the object in the last column.
+		for (int columns : new int[] {128, 129}) {
+			Level.Specification level = randomLevel(columns, 2, columns);
+			assertSameLevel(level, LevelFormat.decode(LevelFormat.encode(level)));
+		}
+
+		// Signed varints are zigzag encoded, so -64, 63 and 64 are around the same border.
+		int[] speeds = {0, 1, -1, 63, -64, 64, -65, Integer.MAX_VALUE, Integer.MIN_VALUE};
+		Level level = new Level(speeds.length, 2, new GridPoint(0, 0), new GridPoint(1, 0));
+		for (int index = 0; index < speeds.length; ++index) {
+			level.addLevelObject(new Arrow(Dye.RED, index, 1, Direction.TOP, speeds[index]));
+		}
+		Level.Specification decoded = LevelFormat.decode(LevelFormat.encode(level.getSpecification()));
+		for (LevelObject.Specification specification : decoded.levelObjectsSpecifications) {
+			Arrow.Specification arrow = (Arrow.Specification) specification;
+			assertEquals(speeds[arrow.column], arrow.rotationSpeed);
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void rejectsChecksumMismatch() {
+		byte[] bytes = LevelFormat.encode(randomLevel(9, 7, 1));
+		bytes[bytes.length / 2] ^= 1;
+		LevelFormat.decode(bytes);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void rejectsNegativeSize() {
+		Level.Specification level = randomLevel(5, 5, 2);
+		level.columns = -5;
+		LevelFormat.decode(LevelFormat.encode(level));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void rejectsEnterOffBoard() {
+		Level.Specification level = randomLevel(5, 5, 3);
+		level.enterPoint = new GridPoint(5, 0);
+		LevelFormat.decode(LevelFormat.encode(level));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void rejectsObjectOffBoard() {
+		Level.Specification level = randomLevel(5, 5, 4);
+		level.levelObjectsSpecifications.get(0).row = -1;
+		LevelFormat.decode(LevelFormat.encode(level));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void rejectsTrailingBytes() {
+		byte[] bytes = LevelFormat.encode(randomLevel(5, 5, 5));
+		bytes = Arrays.copyOf(bytes, bytes.length + 1);
+		LevelFormat.decode(withChecksum(bytes));
+	}
+
+	@Test
+	public void parsesExportedJson() throws Exception {
+		Level.Specification level = randomLevel(11, 6, 6);
+		String text = new Json().prettyPrint(level);
+		assertSameLevel(level, FileUtils.parseLevel(text));
+		assertSameLevel(level, FileUtils.parseLevel(text.getBytes("UTF-8")));
+	}
+}
@@ -0,0 +1,155 @@
+package com.github.donttouchit.game;
+
+import com.github.donttouchit.game.properties.Dye;
+import com.github.donttouchit.geom.Direction;
+import com.github.donttouchit.geom.GridPoint;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class LevelHistoryTest {
+	// The capacities of LevelHistory.
+	private static final int MOVE_CAPACITY = 1 << 12;
+	private static final int ENTRY_CAPACITY = 1 << 15;
+
+	/**
+	 * Restarts the level the way GameScreen does.
+	 */
+	private static void restart(Level level, LevelHistory history, int[] initialState) {
+		if (!level.isInAction()) {
+			history.record();
+		}
+		level.restoreState(initialState);
+		history.record();
+	}
+
+	private static void settle(Level level) {
+		while (level.isInAction()) {
+			level.step();
+		}
+	}
+
+	private static int undoAll(LevelHistory history) {
+		int count = 0;
+		while (history.undo()) {
+			++count;
+		}
+		return count;
+	}
+
+	private static int redoAll(LevelHistory history) {
+		int count = 0;
+		while (history.redo()) {
+			++count;
+		}
+		return count;
+	}
+
+	@Test
+	public void restartIsUndoneAndRedoneAsOneMove() {
+		Level level = new Level(20, 3, new GridPoint(0, 0), new GridPoint(19, 2));
+		Ball ball = new HeavyBall(Dye.RED, 1, 1);
+		level.addLevelObject(ball);
+		int[] initialState = level.saveState(null);
+		LevelHistory history = new LevelHistory(level);
+
+		ball.move(Direction.RIGHT);
+		settle(level);
+		int[] settled = level.saveState(null);
+		restart(level, history, initialState);
+		assertTrue(Arrays.equals(initialState, level.saveState(null)));
+
+		assertTrue(history.undo());
+		assertTrue(Arrays.equals(settled, level.saveState(null)));
+		assertTrue(history.undo());
+		assertTrue(Arrays.equals(initialState, level.saveState(null)));
+		assertFalse(history.undo());
+
+		assertTrue(history.redo());
+		assertTrue(Arrays.equals(settled, level.saveState(null)));
+		assertTrue(history.redo());
+		assertTrue(Arrays.equals(initialState, level.saveState(null)));
+		assertFalse(history.redo());
+	}
+
+	@Test
+	public void restartDuringMoveUndoesToWhereMoveStarted() {
+		Level level = new Level(20, 3, new GridPoint(0, 0), new GridPoint(19, 2));
+		Ball ball = new HeavyBall(Dye.RED, 1, 1);
+		level.addLevelObject(ball);
+		int[] initialState = level.saveState(null);
+		LevelHistory history = new LevelHistory(level);
+
+		ball.move(Direction.RIGHT);
+		settle(level);
+		int[] settled = level.saveState(null);
+		ball.move(Direction.LEFT);
+		while (ball.getColumn() > 12) {
+			level.step();
+		}
+		assertTrue(level.isInAction());
+		restart(level, history, initialState);
+
+		assertTrue(history.undo());
+		assertTrue(Arrays.equals(settled, level.saveState(null)));
+		assertTrue(history.undo());
+		assertTrue(Arrays.equals(initialState, level.saveState(null)));
+		assertFalse(history.undo());
+	}
+
+	@Test
+	public void oldestMovesAreForgottenWhenMovesWrapAround() {
+		Level level = new Level(40, 3, new GridPoint(0, 0), new GridPoint(39, 2));
+		Ball ball = new HeavyBall(Dye.RED, 1, 1);
+		level.addLevelObject(ball);
+		LevelHistory history = new LevelHistory(level);
+
+		int moves = MOVE_CAPACITY + 100;
+		for (int move = 1; move <= moves; ++move) {
+			ball.setColumn(1 + move % 37);
+			history.record();
+		}
+		int[] last = level.saveState(null);
+
+		assertEquals(MOVE_CAPACITY, undoAll(history));
+		// The moves before the kept ones are forgotten, so undo stops where the oldest kept move started.
+		assertEquals(1 + (moves - MOVE_CAPACITY) % 37, ball.getColumn());
+		assertEquals(MOVE_CAPACITY, redoAll(history));
+		assertTrue(Arrays.equals(last, level.saveState(null)));
+	}
+
+	@Test
+	public void oldestMovesAreForgottenWhenEntriesWrapAround() {
+		int balls = 50;
+		Level level = new Level(40, balls + 2, new GridPoint(0, 0), new GridPoint(39, balls + 1));
+		for (int row = 1; row <= balls; ++row) {
+			level.addLevelObject(new HeavyBall(Dye.RED, 1, row));
+		}
+		LevelHistory history = new LevelHistory(level);
+
+		// Every move changes all the balls, so the entries run out long before the moves do.
+		int moves = 2 * ENTRY_CAPACITY / balls;
+		int[][] states = new int[moves + 1][];
+		states[0] = level.saveState(null);
+		for (int move = 1; move <= moves; ++move) {
+			for (int index = 0; index < balls; ++index) {
+				level.restoreState(index, (1 + move % 37) << 20 | (index + 1) << 8);
+			}
+			history.record();
+			states[move] = level.saveState(null);
+		}
+
+		int kept = ENTRY_CAPACITY / balls;
+		assertEquals(kept, undoAll(history));
+		assertTrue(Arrays.equals(states[moves - kept], level.saveState(null)));
+		for (int move = moves - kept + 1; move <= moves; ++move) {
+			assertTrue(history.redo());
+			assertTrue(Arrays.equals(states[move], level.saveState(null)));
+		}
+		assertFalse(history.redo());
+	}
+}
@@ -0,0 +1,25 @@
+package com.github.donttouchit.game;
+
+import com.github.donttouchit.game.properties.Dye;
+import com.github.donttouchit.geom.GridPoint;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class LevelTest {
+	@Test
+	public void removingListenerIsNotCountedAsDispatch() {
+		Level level = new Level(10, 3, new GridPoint(0, 0), new GridPoint(9, 2));
+		ImaginaryWall removed = new ImaginaryWall(Dye.GREEN, 3, 1);
+		ImaginaryWall recolored = new ImaginaryWall(Dye.GREEN, 4, 1);
+		level.addLevelObject(removed);
+		level.addLevelObject(recolored);
+		level.addLevelObject(new ImaginaryWall(Dye.GREEN, 5, 1));
+		long dispatchCount = level.getDispatchCount();
+
+		level.removeLevelObject(removed);
+		recolored.setDye(Dye.RED);
+		level.removeChangeListener(recolored, Dye.RED, ChangeEvent.OPEN_WALL);
+		assertEquals(dispatchCount, level.getDispatchCount());
+	}
+}
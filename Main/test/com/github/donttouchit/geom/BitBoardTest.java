@@ -0,0 +1,89 @@
+package com.github.donttouchit.geom;
+
+import org.junit.Test;
+
+import java.util.ArrayDeque;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+public class BitBoardTest {
+	private static final int[] deltaColumn = {0, 1, 0, -1};
+	private static final int[] deltaRow = {1, 0, -1, 0};
+
+	/**
+	 * Corridor going back and forth across the board, every other row is a wall except one cell at alternating ends.
+	 */
+	private static BitBoard serpentine(int columns, int rows) {
+		BitBoard open = new BitBoard(columns, rows);
+		for (int row = 0; row < rows; ++row) {
+			for (int column = 0; column < columns; ++column) {
+				boolean gap = (row / 2) % 2 == 0 ? column == columns - 1 : column == 0;
+				open.set(column, row, row % 2 == 0 || gap);
+			}
+		}
+		return open;
+	}
+
+	private static BitBoard reference(BitBoard open, int column, int row) {
+		int columns = open.getColumns(), rows = open.getRows();
+		BitBoard reached = new BitBoard(columns, rows);
+		ArrayDeque<int[]> queue = new ArrayDeque<int[]>();
+		reached.set(column, row, true);
+		queue.add(new int[] {column, row});
+		while (!queue.isEmpty()) {
+			int[] current = queue.poll();
+			for (int direction = 0; direction < 4; ++direction) {
+				int nextColumn = current[0] + deltaColumn[direction], nextRow = current[1] + deltaRow[direction];
+				if (nextColumn < 0 || nextRow < 0 || nextColumn >= columns || nextRow >= rows) {
+					continue;
+				}
+				if (open.get(nextColumn, nextRow) && !reached.get(nextColumn, nextRow)) {
+					reached.set(nextColumn, nextRow, true);
+					queue.add(new int[] {nextColumn, nextRow});
+				}
+			}
+		}
+		return reached;
+	}
+
+	private static void assertSameCells(BitBoard expected, BitBoard actual) {
+		for (int row = 0; row < expected.getRows(); ++row) {
+			for (int column = 0; column < expected.getColumns(); ++column) {
+				assertEquals("Cell " + column + ", " + row, expected.get(column, row), actual.get(column, row));
+			}
+		}
+	}
+
+	@Test
+	public void floodFillWalksWindingCorridor() {
+		// The width is odd, so the rows do not line up with the words.
+		BitBoard open = serpentine(199, 201);
+		BitBoard reached = new BitBoard(199, 201);
+		reached.set(0, 0, true);
+		reached.floodFill(open);
+		assertSameCells(reference(open, 0, 0), reached);
+		assertEquals(true, reached.get(199 - 1, 200));
+	}
+
+	@Test
+	public void floodFillMatchesSearchOnRandomBoards() {
+		Random random = new Random(1);
+		for (int test = 0; test < 500; ++test) {
+			int columns = 1 + random.nextInt(90), rows = 1 + random.nextInt(40);
+			BitBoard open = new BitBoard(columns, rows);
+			double wallShare = random.nextDouble() * 0.6;
+			for (int row = 0; row < rows; ++row) {
+				for (int column = 0; column < columns; ++column) {
+					open.set(column, row, random.nextDouble() >= wallShare);
+				}
+			}
+			int column = random.nextInt(columns), row = random.nextInt(rows);
+			open.set(column, row, true);
+			BitBoard reached = new BitBoard(columns, rows);
+			reached.set(column, row, true);
+			reached.floodFill(open);
+			assertSameCells(reference(open, column, row), reached);
+		}
+	}
+}
@@ -0,0 +1,155 @@
+package com.github.donttouchit.geom;
+
+import com.github.donttouchit.game.Ball;
+import com.github.donttouchit.game.HeavyBall;
+import com.github.donttouchit.game.Level;
+import com.github.donttouchit.game.LevelObject;
+import com.github.donttouchit.game.properties.Dye;
+import org.junit.Test;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class LevelSolverTest {
+	private static final Direction[] moveDirections = {Direction.TOP, Direction.RIGHT, Direction.BOTTOM, Direction.LEFT};
+
+	/**
+	 * One row corridor from the enter point to the exit, blocked by a ball. With an open cell above the ball it can step aside.
+	 */
+	private static Level createCorridor(boolean withNiche) {
+		Level level = new Level(5, 3, new GridPoint(0, 1), new GridPoint(4, 1));
+		for (int column = 0; column < 5; ++column) {
+			level.setPassable(column, 0, false);
+			level.setPassable(column, 2, withNiche && column == 2);
+		}
+		level.addLevelObject(new HeavyBall(Dye.RED, 2, 1));
+		return level;
+	}
+
+	/**
+	 * Closed room with two balls, the exit is walled off, so the whole state space is explored.
+	 */
+	private static Level createClosedRoom() {
+		Level level = new Level(16, 16, new GridPoint(0, 5), new GridPoint(15, 5));
+		for (int column = 0; column < 16; ++column) {
+			for (int row = 0; row < 16; ++row) {
+				if (column == 0 || row == 0 || column == 15 || row == 15) {
+					level.setPassable(column, row, false);
+				}
+			}
+		}
+		level.setPassable(14, 5, false);
+		level.addLevelObject(new HeavyBall(Dye.RED, 2, 2));
+		level.addLevelObject(new HeavyBall(Dye.RED, 7, 8));
+		return level;
+	}
+
+	@Test
+	public void solvesCorridorWithNiche() {
+		Level level = createCorridor(true);
+		LevelSolver.Solution solution = new LevelSolver(level).solve(5000);
+		assertTrue(solution.isSolved());
+		assertEquals(1, solution.getMoves().size());
+
+		// Playing the moves opens the way on the original level.
+		for (LevelSolver.Move move : solution.getMoves()) {
+			Ball ball = (Ball) level.getLevelObject(move.getColumn(), move.getRow());
+			play(level, ball, move.getDirection());
+		}
+		assertTrue(new LevelChecker().checkExitWay(level));
+	}
+
+	@Test
+	public void provesCorridorWithoutNicheUnsolvable() {
+		LevelSolver.Solution solution = new LevelSolver(createCorridor(false)).solve(5000);
+		assertFalse(solution.isSolved());
+		assertTrue(solution.isComplete());
+	}
+
+	@Test
+	public void exploresEveryStateOnce() {
+		Level level = createClosedRoom();
+		LevelSolver solver = new LevelSolver(level);
+		LevelSolver.Solution solution = solver.solve(60000);
+		assertFalse(solution.isSolved());
+		assertTrue(solution.isComplete());
+		// More states than the initial capacity, so the table is grown and rehashed on the way.
+		assertTrue(solution.getExploredStates() > 1024);
+		assertEquals(countReachableStates(level), solution.getExploredStates());
+		assertEquals(solution.getExploredStates(), solver.solve(60000).getExploredStates());
+	}
+
+	@Test
+	public void stopsAtTimeLimit() {
+		Level level = new Level(30, 30, new GridPoint(0, 0), new GridPoint(29, 29));
+		level.setPassable(28, 29, false);
+		level.setPassable(29, 28, false);
+		for (int ball = 0; ball < 8; ++ball) {
+			level.addLevelObject(new HeavyBall(Dye.RED, 3 + ball * 3, 2 + ball * 3));
+		}
+		long start = System.currentTimeMillis();
+		LevelSolver.Solution solution = new LevelSolver(level).solve(100);
+		assertFalse(solution.isSolved());
+		assertFalse(solution.isComplete());
+		assertTrue(System.currentTimeMillis() - start < 5000);
+	}
+
+	private static boolean play(Level level, Ball ball, Direction direction) {
+		ball.move(direction);
+		if (ball.getMoveDirection() == Direction.NONE) {
+			return false;
+		}
+		float delta = 1 / ball.getSpeedInCells();
+		while (ball.getMoveDirection() != Direction.NONE) {
+			level.step(delta);
+		}
+		level.step(delta);
+		return true;
+	}
+
+	/**
+	 * Plain search over the states of the level with a hash set, to check the table of the solver against.
+	 */
+	private static int countReachableStates(Level level) {
+		List<LevelObject> levelObjects = level.getLevelObjects();
+		int[] initial = level.saveState(null);
+		Set<List<Integer>> seen = new HashSet<List<Integer>>();
+		ArrayDeque<int[]> queue = new ArrayDeque<int[]>();
+		seen.add(toList(initial));
+		queue.add(initial);
+		while (!queue.isEmpty()) {
+			int[] state = queue.poll();
+			for (int index = 0; index < levelObjects.size(); ++index) {
+				if (!(levelObjects.get(index) instanceof Ball)) {
+					continue;
+				}
+				for (Direction direction : moveDirections) {
+					level.restoreState(state);
+					if (play(level, (Ball) levelObjects.get(index), direction)) {
+						int[] next = level.saveState(null);
+						if (seen.add(toList(next))) {
+							queue.add(next);
+						}
+					}
+				}
+			}
+		}
+		level.restoreState(initial);
+		return seen.size();
+	}
+
+	private static List<Integer> toList(int[] state) {
+		Integer[] boxed = new Integer[state.length];
+		for (int index = 0; index < state.length; ++index) {
+			boxed[index] = state[index];
+		}
+		return Arrays.asList(boxed);
+	}
+}
@@ -0,0 +1,166 @@
+package com.github.donttouchit.screen.editor;
+
+import com.github.donttouchit.game.Arrow;
+import com.github.donttouchit.game.HeavyBall;
+import com.github.donttouchit.game.ImaginaryWall;
+import com.github.donttouchit.game.Level;
+import com.github.donttouchit.game.LevelObject;
+import com.github.donttouchit.game.properties.Dye;
+import com.github.donttouchit.geom.Direction;
+import com.github.donttouchit.geom.GridPoint;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class EditorHistoryTest {
+	/**
+	 * Describes everything the editor can change, the objects are sorted so their order in the level does not matter.
+	 */
+	private static String snapshot(Level level) {
+		StringBuilder builder = new StringBuilder();
+		for (int row = 0; row < level.getRows(); ++row) {
+			for (int column = 0; column < level.getColumns(); ++column) {
+				builder.append(level.isPassable(column, row) ? '.' : '#');
+			}
+			builder.append('\n');
+		}
+		List<String> objects = new ArrayList<String>();
+		for (LevelObject levelObject : level.getLevelObjects()) {
+			objects.add(levelObject.getClass().getSimpleName() + " " + levelObject.getColumn() + " " + levelObject.getRow()
+					+ " " + levelObject.getDye() + " " + levelObject.getParameter());
+		}
+		Collections.sort(objects);
+		builder.append(objects);
+		return builder.toString();
+	}
+
+	@Test
+	public void strokeIsUndoneAsOneStep() {
+		Level level = new Level(8, 3, new GridPoint(0, 0), new GridPoint(7, 2));
+		EditorHistory history = new EditorHistory(level);
+		String before = snapshot(level);
+
+		history.beginStroke();
+		for (int column = 1; column < 7; ++column) {
+			history.setPassable(column, 1, false);
+		}
+		history.endStroke();
+		String after = snapshot(level);
+
+		assertTrue(history.undo());
+		assertEquals(before, snapshot(level));
+		assertFalse(history.undo());
+		assertTrue(history.redo());
+		assertEquals(after, snapshot(level));
+		assertFalse(history.redo());
+	}
+
+	@Test
+	public void changingNothingIsNotRecorded() {
+		Level level = new Level(8, 3, new GridPoint(0, 0), new GridPoint(7, 2));
+		HeavyBall ball = new HeavyBall(Dye.RED, 3, 1);
+		level.addLevelObject(ball);
+		EditorHistory history = new EditorHistory(level);
+
+		history.beginStroke();
+		history.setPassable(2, 2, true);
+		history.changeParameter(ball);
+		history.setDye(ball, Dye.RED);
+		history.endStroke();
+		assertFalse(history.canUndo());
+	}
+
+	@Test
+	public void arrowParameterIsUndone() {
+		Level level = new Level(8, 3, new GridPoint(0, 0), new GridPoint(7, 2));
+		Arrow arrow = new Arrow(Dye.GREEN, 3, 1, Direction.TOP, 1);
+		level.addLevelObject(arrow);
+		EditorHistory history = new EditorHistory(level);
+
+		history.changeParameter(arrow);
+		history.changeParameter(arrow);
+		assertEquals(Direction.TOP.plus(2), arrow.getDirection());
+		assertTrue(history.undo());
+		assertEquals(Direction.TOP.plus(1), arrow.getDirection());
+		assertTrue(history.undo());
+		assertEquals(Direction.TOP, arrow.getDirection());
+		assertTrue(history.redo());
+		assertEquals(Direction.TOP.plus(1), arrow.getDirection());
+	}
+
+	@Test
+	public void undoAndRedoAreInverse() {
+		Level level = new Level(12, 9, new GridPoint(0, 0), new GridPoint(11, 8));
+		EditorHistory history = new EditorHistory(level);
+		Random random = new Random(7);
+		List<String> snapshots = new ArrayList<String>();
+		snapshots.add(snapshot(level));
+
+		for (int batch = 0; batch < 200; ++batch) {
+			// Every cell is changed at most once in a stroke, so a recorded stroke always changes the level.
+			boolean[][] touched = new boolean[level.getColumns()][level.getRows()];
+			history.beginStroke();
+			int commands = 1 + random.nextInt(6);
+			for (int command = 0; command < commands; ++command) {
+				int column = 1 + random.nextInt(10), row = 1 + random.nextInt(7);
+				if (touched[column][row]) {
+					continue;
+				}
+				touched[column][row] = true;
+				LevelObject levelObject = level.getLevelObject(column, row);
+				if (levelObject == null) {
+					switch (random.nextInt(3)) {
+						case 0:
+							history.setPassable(column, row, !level.isPassable(column, row));
+							break;
+						case 1:
+							if (level.isPassable(column, row)) {
+								history.addLevelObject(new Arrow(Dye.RED, column, row, Direction.LEFT, 1));
+							}
+							break;
+						default:
+							if (level.isPassable(column, row)) {
+								history.addLevelObject(new ImaginaryWall(Dye.BLUE, column, row));
+							}
+							break;
+					}
+				} else {
+					switch (random.nextInt(3)) {
+						case 0:
+							history.removeLevelObject(levelObject);
+							break;
+						case 1:
+							history.changeParameter(levelObject);
+							break;
+						default:
+							history.setDye(levelObject, Dye.values()[random.nextInt(Dye.values().length)]);
+							break;
+					}
+				}
+			}
+			history.endStroke();
+			String current = snapshot(level);
+			if (!current.equals(snapshots.get(snapshots.size() - 1))) {
+				snapshots.add(current);
+			}
+		}
+
+		for (int index = snapshots.size() - 2; index >= 0; --index) {
+			assertTrue(history.undo());
+			assertEquals(snapshots.get(index), snapshot(level));
+		}
+		assertFalse(history.undo());
+		for (int index = 1; index < snapshots.size(); ++index) {
+			assertTrue(history.redo());
+			assertEquals(snapshots.get(index), snapshot(level));
+		}
+		assertFalse(history.redo());
+	}
+}
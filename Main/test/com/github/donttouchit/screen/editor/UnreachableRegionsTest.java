@@ -0,0 +1,30 @@
+package com.github.donttouchit.screen.editor;
+
+import com.github.donttouchit.game.Level;
+import com.github.donttouchit.geom.GridPoint;
+import org.junit.Test;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class UnreachableRegionsTest {
+	@Test
+	public void cellsAroundEnterPointAreReachable() {
+		// The enter point is a wall, its region starts at the neighbouring cells.
+		Level level = new Level(6, 3, new GridPoint(0, 1), new GridPoint(5, 1));
+		for (int row = 0; row < 3; ++row) {
+			level.setPassable(3, row, false);
+		}
+		UnreachableRegions regions = new UnreachableRegions(level);
+
+		assertFalse(regions.isUnreachable(1, 1));
+		assertFalse(regions.isUnreachable(2, 0));
+		assertFalse(regions.isUnreachable(0, 2));
+		assertFalse(regions.isUnreachable(3, 1));
+		assertTrue(regions.isUnreachable(4, 1));
+
+		level.setPassable(3, 1, true);
+		assertFalse(regions.isUnreachable(4, 1));
+		assertFalse(regions.isUnreachable(4, 2));
+	}
+}